@@ -0,0 +1,180 @@
+package com.nordstrom.automation.testng;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.IInvokedMethod;
+import org.testng.ISuite;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.internal.ConstructorOrMethod;
+
+/**
+ * This utility class produces minimal proxy implementations of <b>TestNG</b> interfaces for use by the benchmarks.
+ * Each stub answers a fixed set of method names; every other method returns the default value of its return type.
+ */
+final class BenchmarkStubs {
+    
+    private static final ITestNGMethod AFTER_METHOD = afterMethod();
+    private static final ITestClass TEST_CLASS = testClass();
+    
+    private BenchmarkStubs() {
+        throw new AssertionError("BenchmarkStubs is a static utility class that cannot be instantiated");
+    }
+    
+    /**
+     * Create an invoked method stub of the specified kind.
+     * 
+     * @param isBefore {@code true} for a {@code @BeforeMethod} configuration method
+     * @param isTest {@code true} for a test method
+     * @param isAfter {@code true} for an {@code @AfterMethod} configuration method
+     * @return invoked method stub
+     */
+    static IInvokedMethod invokedMethod(boolean isBefore, boolean isTest, boolean isAfter) {
+        Map<String, Object> methodAnswers = new HashMap<>();
+        methodAnswers.put("isBeforeMethodConfiguration", isBefore);
+        methodAnswers.put("isAfterMethodConfiguration", isAfter);
+        methodAnswers.put("isTest", isTest);
+        ITestNGMethod testMethod = stub(ITestNGMethod.class, methodAnswers);
+        
+        Map<String, Object> invokedAnswers = new HashMap<>();
+        invokedAnswers.put("getTestMethod", testMethod);
+        invokedAnswers.put("isTestMethod", isTest);
+        invokedAnswers.put("isConfigurationMethod", !isTest);
+        return stub(IInvokedMethod.class, invokedAnswers);
+    }
+    
+    /**
+     * Create a test result stub that maintains an attribute collection.
+     * 
+     * @return test result stub
+     */
+    static ITestResult attributedResult() {
+        Map<String, Object> resultAnswers = new HashMap<>();
+        resultAnswers.put("getTestClass", TEST_CLASS);
+        resultAnswers.put("getMethod", AFTER_METHOD);
+        Map<String, Object> attributes = new HashMap<>();
+        return type(ITestResult.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getAttribute":
+                return attributes.get(args[0]);
+            case "setAttribute":
+                attributes.put((String) args[0], args[1]);
+                return null;
+            case "removeAttribute":
+                return attributes.remove(args[0]);
+            case "getAttributeNames":
+                return attributes.keySet();
+            default:
+                return answer(ITestResult.class, proxy, method, args, resultAnswers);
+            }
+        });
+    }
+    
+    /**
+     * Create a failed test result stub for the specified method and parameters.
+     * 
+     * @param method test method
+     * @param parameters invocation parameters
+     * @return test result stub
+     */
+    static ITestResult failedResult(Method method, Object[] parameters) {
+        Map<String, Object> suiteAnswers = new HashMap<>();
+        suiteAnswers.put("getName", "BenchmarkSuite");
+        ISuite suite = stub(ISuite.class, suiteAnswers);
+        
+        Map<String, Object> contextAnswers = new HashMap<>();
+        contextAnswers.put("getName", "BenchmarkTest");
+        contextAnswers.put("getSuite", suite);
+        ITestContext context = stub(ITestContext.class, contextAnswers);
+        
+        Map<String, Object> methodAnswers = new HashMap<>();
+        methodAnswers.put("getConstructorOrMethod", new ConstructorOrMethod(method));
+        methodAnswers.put("getRealClass", method.getDeclaringClass());
+        methodAnswers.put("getMethodName", method.getName());
+        ITestNGMethod testMethod = stub(ITestNGMethod.class, methodAnswers);
+        
+        Map<String, Object> resultAnswers = new HashMap<>();
+        resultAnswers.put("getTestContext", context);
+        resultAnswers.put("getMethod", testMethod);
+        resultAnswers.put("getName", method.getName());
+        resultAnswers.put("getParameters", parameters);
+        resultAnswers.put("getThrowable", new AssertionError("benchmark failure"));
+        resultAnswers.put("getStatus", ITestResult.FAILURE);
+        return stub(ITestResult.class, resultAnswers);
+    }
+    
+    /**
+     * Create the {@code @AfterMethod} configuration method stub of the benchmark test class.
+     * 
+     * @return configuration method stub
+     */
+    private static ITestNGMethod afterMethod() {
+        try {
+            Map<String, Object> methodAnswers = new HashMap<>();
+            methodAnswers.put("getConstructorOrMethod",
+                    new ConstructorOrMethod(BenchmarkStubs.class.getDeclaredMethod("afterMethod")));
+            methodAnswers.put("isAfterMethodConfiguration", true);
+            return stub(ITestNGMethod.class, methodAnswers);
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+    
+    /**
+     * Create a test class stub that declares a single {@code @AfterMethod} configuration method.
+     * 
+     * @return test class stub
+     */
+    private static ITestClass testClass() {
+        Map<String, Object> classAnswers = new HashMap<>();
+        classAnswers.put("getAfterTestMethods", new ITestNGMethod[] { AFTER_METHOD });
+        return stub(ITestClass.class, classAnswers);
+    }
+    
+    /**
+     * Create a proxy of the specified interface that answers the indicated methods with fixed values.
+     * 
+     * @param <T> interface type
+     * @param type interface class
+     * @param answers map of method names to return values
+     * @return proxy instance
+     */
+    static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return type(type, (proxy, method, args) -> answer(type, proxy, method, args, answers));
+    }
+    
+    private static <T> T type(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+    
+    private static Object answer(Class<?> type, Object proxy, Method method, Object[] args,
+            Map<String, Object> answers) {
+        if (answers.containsKey(method.getName())) {
+            return answers.get(method.getName());
+        }
+        switch (method.getName()) {
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "equals":
+            return proxy == args[0];
+        case "toString":
+            return type.getSimpleName() + "@stub";
+        default:
+            return defaultValue(method.getReturnType());
+        }
+    }
+    
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType.isPrimitive() && (returnType != void.class)) {
+            return Array.get(Array.newInstance(returnType, 1), 0);
+        }
+        return null;
+    }
+}
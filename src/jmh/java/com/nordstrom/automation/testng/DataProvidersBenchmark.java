@@ -0,0 +1,63 @@
+package com.nordstrom.automation.testng;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark measures {@link DataProviders#createIterator(Object...)} over the Cartesian product of three inputs
+ * of {@code width} rows each. The {@code firstRow} benchmark measures the latency until the first combination is
+ * available; the {@code allRows} benchmark measures the cost of producing the entire product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DataProvidersBenchmark {
+    
+    @Param({"10", "100"})
+    public int width;
+    
+    private Object[][] browsers;
+    private Object[][] locales;
+    private Object[] accounts;
+    
+    @Setup
+    public void setup() {
+        browsers = new Object[width][];
+        locales = new Object[width][];
+        accounts = new Object[width];
+        for (int i = 0; i < width; i++) {
+            browsers[i] = new Object[] { "browser" + i, i };
+            locales[i] = new Object[] { "locale" + i };
+            accounts[i] = "account" + i;
+        }
+    }
+    
+    @Benchmark
+    public Object[] firstRow() {
+        return DataProviders.createIterator(browsers, locales, accounts).next();
+    }
+    
+    @Benchmark
+    public void allRows(Blackhole blackhole) {
+        Iterator<Object[]> iterator = DataProviders.createIterator(browsers, locales, accounts);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nordstrom.automation.testng;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.IInvokedMethod;
+import org.testng.ITestResult;
+
+/**
+ * This benchmark measures the attribute propagation performed by {@link ExecutionFlowController} over a complete
+ * invocation cycle: [<i>before</i> method] &rarr; [test method] &rarr; [<i>after</i> method]. Each benchmark thread
+ * owns its own test results, as each <b>TestNG</b> worker thread does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionFlowControllerBenchmark {
+    
+    private static final IInvokedMethod BEFORE_METHOD = BenchmarkStubs.invokedMethod(true, false, false);
+    private static final IInvokedMethod TEST_METHOD = BenchmarkStubs.invokedMethod(false, true, false);
+    private static final IInvokedMethod AFTER_METHOD = BenchmarkStubs.invokedMethod(false, false, true);
+    
+    @Param({"1", "10", "100"})
+    public int attributeCount;
+    
+    private ExecutionFlowController controller;
+    private ITestResult beforeResult;
+    private ITestResult testResult;
+    private ITestResult afterResult;
+    
+    @Setup
+    public void setup() {
+        controller = new ExecutionFlowController();
+        beforeResult = BenchmarkStubs.attributedResult();
+        testResult = BenchmarkStubs.attributedResult();
+        afterResult = BenchmarkStubs.attributedResult();
+        for (int i = 0; i < attributeCount; i++) {
+            beforeResult.setAttribute("attribute" + i, i);
+        }
+    }
+    
+    @Benchmark
+    public ITestResult invocationCycle() {
+        controller.beforeInvocation(BEFORE_METHOD, beforeResult);
+        controller.afterInvocation(BEFORE_METHOD, beforeResult);
+        controller.beforeInvocation(TEST_METHOD, testResult);
+        controller.afterInvocation(TEST_METHOD, testResult);
+        controller.beforeInvocation(AFTER_METHOD, afterResult);
+        controller.afterInvocation(AFTER_METHOD, afterResult);
+        return afterResult;
+    }
+}
@@ -0,0 +1,123 @@
+package com.nordstrom.automation.testng;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.ITestListener;
+import org.testng.ITestNGListener;
+import org.testng.ITestResult;
+
+import static com.nordstrom.automation.testng.VersionUtility.newEmptyTestResult;
+
+/**
+ * This benchmark measures event fan-out through {@link ListenerChain}. The {@code compiledDispatch} benchmarks deliver
+ * events through the dispatchers that the chain compiles from its per-event tables; the {@code tableLoop} benchmark
+ * iterates the dispatch table of the event with an interface call per listener.
+ * <p>
+ * Half of the attached listeners handle {@code onTestSuccess}; the rest inherit the default. Four listener
+ * classes are used so that the call sites see more than two receiver types, as they do in real suites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerChainBenchmark {
+    
+    @Param({"1", "10", "50"})
+    public int listenerCount;
+    
+    private ListenerChain chain;
+    private ITestResult result;
+    
+    @Setup
+    public void setup() {
+        chain = new ListenerChain();
+        for (int i = 0; i < listenerCount; i++) {
+            ITestNGListener listener;
+            switch (i % 4) {
+            case 0:
+                listener = new SuccessListenerA();
+                break;
+            case 1:
+                listener = new FailureListenerA();
+                break;
+            case 2:
+                listener = new SuccessListenerB();
+                break;
+            default:
+                listener = new FailureListenerB();
+                break;
+            }
+            chain.listeners.add(listener);
+            chain.bucketizeListener(listener);
+        }
+        chain.compileDispatchTables();
+        result = newEmptyTestResult();
+    }
+    
+    @Benchmark
+    public void compiledDispatch() {
+        chain.onTestSuccess(result);
+    }
+    
+    @Benchmark
+    public void compiledDispatchReverse() {
+        chain.onTestStart(result);
+    }
+    
+    @Benchmark
+    public void tableLoop() {
+        for (ITestNGListener target : chain.getDispatchTargets(ListenerEvent.TEST_SUCCESS)) {
+            ((ITestListener) target).onTestSuccess(result);
+        }
+    }
+    
+    static class SuccessListenerA implements ITestListener {
+        int count;
+        
+        @Override
+        public void onTestStart(ITestResult result) {
+            count++;
+        }
+        
+        @Override
+        public void onTestSuccess(ITestResult result) {
+            count++;
+        }
+    }
+    
+    static class SuccessListenerB extends SuccessListenerA {
+        @Override
+        public void onTestSuccess(ITestResult result) {
+            count += 2;
+        }
+    }
+    
+    static class FailureListenerA implements ITestListener {
+        int count;
+        
+        @Override
+        public void onTestFailure(ITestResult result) {
+            count++;
+        }
+    }
+    
+    static class FailureListenerB extends FailureListenerA {
+        @Override
+        public void onTestFailure(ITestResult result) {
+            count += 2;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.nordstrom.automation.testng;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.ITestResult;
+
+/**
+ * This benchmark measures {@link RetryManager#retry(ITestResult)} for failed invocations with parameter arrays of
+ * increasing size. The retry limit is set high enough that every call records the invocation and consults the
+ * managed analyzers, which is the path taken by failed tests when automatic retry is enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtestng.max.retry=2147483647")
+public class RetryManagerBenchmark {
+    
+    @Param({"0", "10", "1000"})
+    public int parameterCount;
+    
+    private RetryManager retryManager;
+    private ITestResult result;
+    
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Object[] parameters = new Object[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            parameters[i] = "parameter-value-" + i;
+        }
+        retryManager = new RetryManager();
+        result = BenchmarkStubs.failedResult(getClass().getMethod("parameterizedTest", Object[].class), parameters);
+    }
+    
+    @Benchmark
+    public boolean retry() {
+        return retryManager.retry(result);
+    }
+    
+    /**
+     * Stand-in for the test method whose failure is being evaluated.
+     * 
+     * @param parameters invocation parameters
+     */
+    public void parameterizedTest(Object... parameters) {
+        // nothing to do here
+    }
+}
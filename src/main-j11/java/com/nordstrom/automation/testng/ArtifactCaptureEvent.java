@@ -0,0 +1,54 @@
+package com.nordstrom.automation.testng;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.testng.ITestResult;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This Java Flight Recorder event records an artifact capture performed by {@link ArtifactCollector}.
+ */
+@Name("com.nordstrom.automation.testng.ArtifactCapture")
+@Label("Artifact Capture")
+@Category({"TestNG Foundation", "Artifact Collector"})
+@Description("Capture of a test artifact")
+@StackTrace(false)
+class ArtifactCaptureEvent extends Event {
+    
+    @Label("Provider")
+    Class<?> provider;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Artifact Path")
+    String artifactPath;
+    
+    @Label("Captured")
+    boolean captured;
+    
+    /**
+     * End the timing of this event and commit it to the active recordings.
+     * 
+     * @param artifactType artifact capture provider
+     * @param result test result for which the artifact was captured
+     * @param path (optional) path at which the captured artifact was stored
+     */
+    void complete(ArtifactType artifactType, ITestResult result, Optional<Path> path) {
+        end();
+        if (shouldCommit()) {
+            provider = artifactType.getClass();
+            method = result.getName();
+            artifactPath = path.map(Path::toString).orElse(null);
+            captured = path.isPresent();
+            commit();
+        }
+    }
+}
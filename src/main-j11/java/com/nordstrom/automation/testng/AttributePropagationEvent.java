@@ -0,0 +1,49 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.ITestResult;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This Java Flight Recorder event records the propagation of test attributes by {@link ExecutionFlowController} from
+ * one phase of test execution to the next.
+ */
+@Name("com.nordstrom.automation.testng.AttributePropagation")
+@Label("Attribute Propagation")
+@Category({"TestNG Foundation", "Execution Flow Controller"})
+@Description("Propagation of test attributes to the next phase of test execution")
+@StackTrace(false)
+class AttributePropagationEvent extends Event {
+    
+    @Label("Phase")
+    @Description("Execution phase that receives the attributes")
+    String phase;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Attribute Count")
+    int attributeCount;
+    
+    /**
+     * End the timing of this event and commit it to the active recordings.
+     * 
+     * @param targetPhase execution phase that receives the attributes
+     * @param target test result that receives the attributes
+     * @param count number of propagated attributes
+     */
+    void complete(String targetPhase, ITestResult target, int count) {
+        end();
+        if (shouldCommit()) {
+            phase = targetPhase;
+            method = target.getName();
+            attributeCount = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nordstrom.automation.testng;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+/**
+ * This Java Flight Recorder event records the dispatch of a single {@link ListenerEvent listener event} by
+ * {@link ListenerChain} to one of its attached listeners.
+ * <p>
+ * <b>NOTE</b>: Listener dispatch is instrumented only while a flight recording is active. Each chain that's
+ * {@link #watch(AbstractListenerChain) watched} recompiles its dispatch tables whenever a recording changes state, so
+ * recordings started after the chain was created (e.g. - via {@code jcmd <pid> JFR.start}) also capture these events.
+ */
+@Name("com.nordstrom.automation.testng.ListenerDispatch")
+@Label("Listener Dispatch")
+@Category({"TestNG Foundation", "Listener Chain"})
+@Description("Dispatch of a listener chain event to an attached listener")
+@StackTrace(false)
+class ListenerDispatchEvent extends Event {
+    
+    @Label("Listener")
+    Class<?> listener;
+    
+    @Label("Event")
+    String event;
+    
+    private static final Map<AbstractListenerChain, Boolean> CHAINS = new WeakHashMap<>();
+    private static boolean watching;
+    
+    /**
+     * Determine if listener dispatch events are being recorded.
+     * 
+     * @return {@code true} if a flight recording with this event enabled is active; otherwise {@code false}
+     */
+    static boolean isRecording() {
+        return new ListenerDispatchEvent().isEnabled();
+    }
+    
+    /**
+     * Recompile the dispatch tables of the specified chain whenever a flight recording changes state. The chain is
+     * held by weak reference, so watching it doesn't prevent it from being garbage collected.
+     * 
+     * @param chain listener chain
+     */
+    static void watch(AbstractListenerChain chain) {
+        synchronized (CHAINS) {
+            CHAINS.put(chain, Boolean.TRUE);
+            if ( ! watching) {
+                watching = true;
+                FlightRecorder.addListener(new RecordingWatcher());
+            }
+        }
+    }
+    
+    /**
+     * End the timing of this event and commit it to the active recordings.
+     * 
+     * @param listenerClass class of the listener that handled the event
+     * @param listenerEvent the dispatched listener event
+     */
+    void complete(Class<?> listenerClass, ListenerEvent listenerEvent) {
+        end();
+        if (shouldCommit()) {
+            listener = listenerClass;
+            event = listenerEvent.name();
+            commit();
+        }
+    }
+    
+    /**
+     * This flight recorder listener recompiles the dispatch tables of the watched chains when a recording changes
+     * state, which adds or removes the dispatch instrumentation.
+     */
+    private static class RecordingWatcher implements FlightRecorderListener {
+        
+        @Override
+        public void recordingStateChanged(Recording recording) {
+            List<AbstractListenerChain> chains;
+            synchronized (CHAINS) {
+                chains = new ArrayList<>(CHAINS.keySet());
+            }
+            for (AbstractListenerChain chain : chains) {
+                chain.compileDispatchTables();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.ITestResult;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This Java Flight Recorder event records the decision made by {@link RetryManager} for a failed test invocation.
+ */
+@Name("com.nordstrom.automation.testng.RetryDecision")
+@Label("Retry Decision")
+@Category({"TestNG Foundation", "Retry Manager"})
+@Description("Evaluation of a failed test invocation for retry")
+@StackTrace(false)
+class RetryDecisionEvent extends Event {
+    
+    @Label("Suite")
+    String suite;
+    
+    @Label("Test")
+    String test;
+    
+    @Label("Invocation")
+    String invocation;
+    
+    @Label("Remaining Retries")
+    int remainingRetries;
+    
+    @Label("Retried")
+    boolean retried;
+    
+    /**
+     * End the timing of this event and commit it to the active recordings.
+     * 
+     * @param result result of the failed test
+     * @param remaining number of retries remaining for the invocation
+     * @param doRetry {@code true} if the invocation will be retried
+     */
+    void complete(ITestResult result, int remaining, boolean doRetry) {
+        end();
+        if (shouldCommit()) {
+            InvocationRecord record = new InvocationRecord(result);
+            suite = record.suiteName;
+            test = record.testName;
+            invocation = record.toString();
+            remainingRetries = remaining;
+            retried = doRetry;
+            commit();
+        }
+    }
+}
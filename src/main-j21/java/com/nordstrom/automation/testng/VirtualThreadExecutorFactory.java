@@ -0,0 +1,47 @@
+package com.nordstrom.automation.testng;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * This <b>TestNG</b> executor service factory runs test methods on virtual threads instead of platform threads. The
+ * executor honors the pool sizes and work queue requested by <b>TestNG</b>, so the {@code thread-count} of the suite
+ * still caps the number of concurrent methods. Because virtual threads are cheap to create and park, this cap can be
+ * raised into the thousands for I/O-bound suites.
+ * <p>
+ * Activate this factory via the {@code -threadpoolfactoryclass} command line option or
+ * {@link org.testng.TestNG#setExecutorServiceFactory(IExecutorServiceFactory) TestNG.setExecutorServiceFactory}:
+ *
+ * <blockquote><pre>
+ * java org.testng.TestNG -threadpoolfactoryclass com.nordstrom.automation.testng.VirtualThreadExecutorFactory ...
+ * </pre></blockquote>
+ *
+ * <b>NOTE</b>: The per-thread state of <b>TestNG Foundation</b> is compatible with virtual threads. The configuration
+ * is shared by all threads, and the attribute propagation context of {@link ExecutionFlowController} is a plain
+ * (non-inheritable) thread-local that's cleared at the end of each invocation.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    private static final String THREAD_PREFIX = "TestNG-virtual-";
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+            BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue,
+                newThreadFactory());
+    }
+
+    /**
+     * Get a factory that creates virtual threads.
+     *
+     * @return virtual thread factory
+     */
+    public static ThreadFactory newThreadFactory() {
+        return Thread.ofVirtual().name(THREAD_PREFIX, 1).factory();
+    }
+}
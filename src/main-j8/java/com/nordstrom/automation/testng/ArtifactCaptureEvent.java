@@ -0,0 +1,31 @@
+package com.nordstrom.automation.testng;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.testng.ITestResult;
+
+/**
+ * This is the Java 8 stand-in for the Java Flight Recorder event that records an artifact capture performed by
+ * {@link ArtifactCollector}. Flight recorder events require Java 11, so every method of this class is a no-op.
+ */
+class ArtifactCaptureEvent {
+    
+    /**
+     * Begin the timing of this event (no-op).
+     */
+    void begin() {
+        // nothing to do here
+    }
+    
+    /**
+     * End the timing of this event (no-op).
+     * 
+     * @param artifactType artifact capture provider
+     * @param result test result for which the artifact was captured
+     * @param path (optional) path at which the captured artifact was stored
+     */
+    void complete(ArtifactType artifactType, ITestResult result, Optional<Path> path) {
+        // nothing to do here
+    }
+}
@@ -0,0 +1,28 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.ITestResult;
+
+/**
+ * This is the Java 8 stand-in for the Java Flight Recorder event that records the propagation of test attributes by
+ * {@link ExecutionFlowController}. Flight recorder events require Java 11, so every method of this class is a no-op.
+ */
+class AttributePropagationEvent {
+    
+    /**
+     * Begin the timing of this event (no-op).
+     */
+    void begin() {
+        // nothing to do here
+    }
+    
+    /**
+     * End the timing of this event (no-op).
+     * 
+     * @param targetPhase execution phase that receives the attributes
+     * @param target test result that receives the attributes
+     * @param count number of propagated attributes
+     */
+    void complete(String targetPhase, ITestResult target, int count) {
+        // nothing to do here
+    }
+}
@@ -0,0 +1,44 @@
+package com.nordstrom.automation.testng;
+
+/**
+ * This is the Java 8 stand-in for the Java Flight Recorder event that records the dispatch of a single
+ * {@link ListenerEvent listener event} by {@link ListenerChain}. Flight recorder events require Java 11, so every
+ * method of this class is a no-op.
+ */
+class ListenerDispatchEvent {
+    
+    /**
+     * Determine if listener dispatch events are being recorded.
+     * 
+     * @return always {@code false}
+     */
+    static boolean isRecording() {
+        return false;
+    }
+    
+    /**
+     * Recompile the dispatch tables of the specified chain whenever a flight recording changes state (no-op).
+     * 
+     * @param chain listener chain
+     */
+    static void watch(AbstractListenerChain chain) {
+        // nothing to do here
+    }
+    
+    /**
+     * Begin the timing of this event (no-op).
+     */
+    void begin() {
+        // nothing to do here
+    }
+    
+    /**
+     * End the timing of this event (no-op).
+     * 
+     * @param listenerClass class of the listener that handled the event
+     * @param listenerEvent the dispatched listener event
+     */
+    void complete(Class<?> listenerClass, ListenerEvent listenerEvent) {
+        // nothing to do here
+    }
+}
@@ -0,0 +1,29 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.ITestResult;
+
+/**
+ * This is the Java 8 stand-in for the Java Flight Recorder event that records the decision made by
+ * {@link RetryManager} for a failed test invocation. Flight recorder events require Java 11, so every method of this
+ * class is a no-op.
+ */
+class RetryDecisionEvent {
+    
+    /**
+     * Begin the timing of this event (no-op).
+     */
+    void begin() {
+        // nothing to do here
+    }
+    
+    /**
+     * End the timing of this event (no-op).
+     * 
+     * @param result result of the failed test
+     * @param remaining number of retries remaining for the invocation
+     * @param doRetry {@code true} if the invocation will be retried
+     */
+    void complete(ITestResult result, int remaining, boolean doRetry) {
+        // nothing to do here
+    }
+}
@@ -1,22 +1,28 @@
 package com.nordstrom.automation.testng;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.IAnnotationTransformer;
 import org.testng.IClassListener;
 import org.testng.IConfigurationListener;
+import org.testng.IDataProviderListener;
+import org.testng.IDataProviderMethod;
 import org.testng.IExecutionListener;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
@@ -28,19 +34,23 @@ import org.testng.ITestClass;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestNGListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.annotations.ITestAnnotation;
 
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+import com.nordstrom.common.base.UncheckedThrow;
+
 /**
  * This TestNG listener enables the addition of other listeners at runtime and guarantees the order in which they're
  * invoked. This is similar in behavior to a JUnit rule chain.
  */
 public abstract class AbstractListenerChain implements IAnnotationTransformer, IExecutionListener, ISuiteListener,
-		IConfigurationListener, IInvokedMethodListener, ITestListener, IMethodInterceptor, IClassListener {
+		IConfigurationListener, IInvokedMethodListener, ITestListener, IMethodInterceptor, IClassListener,
+		IDataProviderListener {
     
-    private Set<Class<?>> markedClasses = Collections.synchronizedSet(new HashSet<Class<?>>());
-    private Set<Class<? extends ITestNGListener>> listenerSet = 
-            Collections.synchronizedSet(new HashSet<Class<? extends ITestNGListener>>());
+    private Set<Class<?>> markedClasses = ConcurrentHashMap.newKeySet();
+    private Set<Class<? extends ITestNGListener>> listenerSet = ConcurrentHashMap.newKeySet();
     
     protected List<ITestNGListener> listeners;
     protected List<IAnnotationTransformer> annotationXformers;
@@ -51,11 +61,19 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
     protected List<ITestListener> testListeners;
     protected List<IMethodInterceptor> methodInterceptors;
     protected List<IClassListener> classListeners;
+    protected List<IDataProviderListener> dataProviderListeners;
+    
+    private volatile ITestNGListener[][] dispatchTables;
+    private volatile MethodHandle[] dispatchers;
+    private ListenerStatistics statistics;
+    private final Object dispatchLock = new Object();
     
     private static final String LISTENER_CHAIN = "ListenerChain";
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractListenerChain.class);
     
     public AbstractListenerChain() {
         initialize();
+        ListenerDispatchEvent.watch(this);
         for (LinkedListener listener : ServiceLoader.load(LinkedListener.class)) {
             attachListener(null, listener);
         }
@@ -79,10 +97,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
     public void transform(ITestAnnotation annotation, Class testClass, Constructor testCtor, Method testMethod) {
         attachListeners(testClass, testCtor, testMethod);
         
-        synchronized(annotationXformers) {
-            for (IAnnotationTransformer annotationXformer : annotationXformers) {
-                annotationXformer.transform(annotation, testClass, testCtor, testMethod);
-            }
+        try {
+            getDispatcher(ListenerEvent.TRANSFORM_TEST).invokeExact(annotation, testClass, testCtor, testMethod);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -92,10 +110,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onExecutionStart() {
-        synchronized(executionListeners) {
-            for (IExecutionListener executionListener : executionListeners) {
-                executionListener.onExecutionStart();
-            }
+        try {
+            getDispatcher(ListenerEvent.EXECUTION_START).invokeExact();
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -105,10 +123,14 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onExecutionFinish() {
-        synchronized(executionListeners) {
-            for (IExecutionListener executionListener : executionListeners) {
-                executionListener.onExecutionFinish();
-            }
+        try {
+            getDispatcher(ListenerEvent.EXECUTION_FINISH).invokeExact();
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
+        }
+        
+        if (statistics != null) {
+            LOGGER.info("{}", statistics.getSummary());
         }
     }
     
@@ -122,11 +144,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
     public void onStart(ISuite suite) {
         suite.setAttribute(LISTENER_CHAIN, this);
         
-        synchronized(suiteListeners) {
-        	ListIterator<ISuiteListener> iterator = suiteListeners.listIterator(suiteListeners.size());
-        	while (iterator.hasPrevious()) {
-        		iterator.previous().onStart(suite);
-        	}
+        try {
+            getDispatcher(ListenerEvent.SUITE_START).invokeExact(suite);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -139,10 +160,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onFinish(ISuite suite) {
-        synchronized(suiteListeners) {
-            for (ISuiteListener suiteListener : suiteListeners) {
-                suiteListener.onFinish(suite);
-            }
+        try {
+            getDispatcher(ListenerEvent.SUITE_FINISH).invokeExact(suite);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -154,10 +175,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onConfigurationSuccess(ITestResult itr) {
-        synchronized(configListeners) {
-            for (IConfigurationListener configListener : configListeners) {
-                configListener.onConfigurationSuccess(itr);
-            }
+        try {
+            getDispatcher(ListenerEvent.CONFIGURATION_SUCCESS).invokeExact(itr);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -169,10 +190,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onConfigurationFailure(ITestResult itr) {
-        synchronized(configListeners) {
-            for (IConfigurationListener configListener : configListeners) {
-                configListener.onConfigurationFailure(itr);
-            }
+        try {
+            getDispatcher(ListenerEvent.CONFIGURATION_FAILURE).invokeExact(itr);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -184,10 +205,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onConfigurationSkip(ITestResult itr) {
-        synchronized(configListeners) {
-            for (IConfigurationListener configListener : configListeners) {
-                configListener.onConfigurationSkip(itr);
-            }
+        try {
+            getDispatcher(ListenerEvent.CONFIGURATION_SKIP).invokeExact(itr);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -225,11 +246,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     // @Override omitted to avoid interface conflict
     public void beforeInvocation(IInvokedMethod method, ITestResult testResult, ITestContext context) {
-        synchronized(methodListeners) {
-        	ListIterator<IInvokedMethodListener> iterator = methodListeners.listIterator(methodListeners.size());
-        	while (iterator.hasPrevious()) {
-        		iterator.previous().beforeInvocation(method, testResult);
-        	}
+        try {
+            getDispatcher(ListenerEvent.BEFORE_INVOCATION).invokeExact(method, testResult);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -243,10 +263,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     // @Override omitted to avoid interface conflict
     public void afterInvocation(IInvokedMethod method, ITestResult testResult, ITestContext context) {
-        synchronized(methodListeners) {
-            for (IInvokedMethodListener methodListener : methodListeners) {
-                methodListener.afterInvocation(method, testResult);
-            }
+        try {
+            getDispatcher(ListenerEvent.AFTER_INVOCATION).invokeExact(method, testResult);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -261,11 +281,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onTestStart(ITestResult result) {
-        synchronized(testListeners) {
-        	ListIterator<ITestListener> iterator = testListeners.listIterator(testListeners.size());
-        	while (iterator.hasPrevious()) {
-        		iterator.previous().onTestStart(result);
-        	}
+        try {
+            getDispatcher(ListenerEvent.TEST_START).invokeExact(result);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -278,10 +297,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onTestSuccess(ITestResult result) {
-        synchronized (testListeners) {
-            for (ITestListener testListener : testListeners) {
-                testListener.onTestSuccess(result);
-            }
+        try {
+            getDispatcher(ListenerEvent.TEST_SUCCESS).invokeExact(result);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -294,10 +313,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onTestFailure(ITestResult result) {
-        synchronized (testListeners) {
-            for (ITestListener testListener : testListeners) {
-                testListener.onTestFailure(result);
-            }
+        try {
+            getDispatcher(ListenerEvent.TEST_FAILURE).invokeExact(result);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -310,10 +329,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onTestSkipped(ITestResult result) {
-        synchronized (testListeners) {
-            for (ITestListener testListener : testListeners) {
-                testListener.onTestSkipped(result);
-            }
+        try {
+            getDispatcher(ListenerEvent.TEST_SKIPPED).invokeExact(result);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -328,10 +347,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
-        synchronized (testListeners) {
-            for (ITestListener testListener : testListeners) {
-                testListener.onTestFailedButWithinSuccessPercentage(result);
-            }
+        try {
+            getDispatcher(ListenerEvent.TEST_FAILED_WITHIN_PERCENTAGE).invokeExact(result);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -344,11 +363,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onStart(ITestContext context) {
-        synchronized (testListeners) {
-        	ListIterator<ITestListener> iterator = testListeners.listIterator(testListeners.size());
-        	while (iterator.hasPrevious()) {
-        		iterator.previous().onStart(context);
-        	}
+        try {
+            getDispatcher(ListenerEvent.CONTEXT_START).invokeExact(context);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -361,10 +379,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onFinish(ITestContext context) {
-        synchronized (testListeners) {
-            for (ITestListener testListener : testListeners) {
-                testListener.onFinish(context);
-            }
+        try {
+            getDispatcher(ListenerEvent.CONTEXT_FINISH).invokeExact(context);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -377,11 +395,12 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      * @return the list of test methods to run.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
-        synchronized (methodInterceptors) {
-            for (IMethodInterceptor interceptor : methodInterceptors) {
-                methods = interceptor.intercept(methods, context);
-            }
+        try {
+            methods = (List<IMethodInstance>) getDispatcher(ListenerEvent.INTERCEPT).invokeExact(methods, context);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
         return methods;
     }
@@ -396,11 +415,10 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onBeforeClass(ITestClass testClass) {
-        synchronized (classListeners) {
-        	ListIterator<IClassListener> iterator = classListeners.listIterator(classListeners.size());
-        	while (iterator.hasPrevious()) {
-        		iterator.previous().onBeforeClass(testClass);
-        	}
+        try {
+            getDispatcher(ListenerEvent.BEFORE_CLASS).invokeExact(testClass);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -414,10 +432,63 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
      */
     @Override
     public void onAfterClass(ITestClass testClass) {
-        synchronized (classListeners) {
-            for (IClassListener classListener : classListeners) {
-                classListener.onAfterClass(testClass);
-            }
+        try {
+            getDispatcher(ListenerEvent.AFTER_CLASS).invokeExact(testClass);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
+        }
+    }
+    
+    /**
+     * [IDataProviderListener]
+     * Invoked before a data provider method is invoked.
+     * 
+     * @param dataProviderMethod TestNG representation of the data provider method
+     * @param method TestNG representation of the test method that consumes the data provider
+     * @param context test context
+     */
+    @Override
+    public void beforeDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+            ITestContext context) {
+        try {
+            getDispatcher(ListenerEvent.BEFORE_DATA_PROVIDER).invokeExact(dataProviderMethod, method, context);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
+        }
+    }
+    
+    /**
+     * [IDataProviderListener]
+     * Invoked after a data provider method has been invoked.
+     * 
+     * @param dataProviderMethod TestNG representation of the data provider method
+     * @param method TestNG representation of the test method that consumes the data provider
+     * @param context test context
+     */
+    @Override
+    public void afterDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+            ITestContext context) {
+        try {
+            getDispatcher(ListenerEvent.AFTER_DATA_PROVIDER).invokeExact(dataProviderMethod, method, context);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
+        }
+    }
+    
+    /**
+     * [IDataProviderListener]
+     * Invoked when a data provider method fails.
+     * 
+     * @param method TestNG representation of the test method that consumes the data provider
+     * @param context test context
+     * @param exception exception thrown by the data provider
+     */
+    @Override
+    public void onDataProviderFailure(ITestNGMethod method, ITestContext context, RuntimeException exception) {
+        try {
+            getDispatcher(ListenerEvent.DATA_PROVIDER_FAILURE).invokeExact(method, context, exception);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
     
@@ -539,8 +610,7 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
         LinkedListeners annotation = testClass.getAnnotation(LinkedListeners.class);
         if (null != annotation) {
             Class<?> markedClass = getMarkedClass(testClass);
-            if ( ! markedClasses.contains(markedClass)) {
-                markedClasses.add(markedClass);
+            if (markedClasses.add(markedClass)) {
                 for (Class<? extends ITestNGListener> listener : annotation.value()) {
                     attachListener(listener, null);
                 }
@@ -548,16 +618,146 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
         }
     }
     
+    /**
+     * Initialize the listener buckets of this chain.
+     * <p>
+     * <b>NOTE</b>: Each bucket is a copy-on-write list. Attaching a listener publishes a new immutable snapshot of
+     * the affected buckets, and rebuilds the per-event dispatch tables from these snapshots. Event dispatch reads the
+     * dispatchers compiled from the current tables without acquiring a lock, which enables parallel test threads to
+     * fire events concurrently without serializing on the listener collections.
+     */
     protected void initialize() {
-        listeners = new ArrayList<>();
-        annotationXformers = new ArrayList<>();
-        executionListeners = new ArrayList<>();
-        suiteListeners = new ArrayList<>();
-        configListeners = new ArrayList<>();
-        methodListeners = new ArrayList<>();
-        testListeners = new ArrayList<>();
-        methodInterceptors = new ArrayList<>();
-        classListeners = new ArrayList<>();
+        listeners = new CopyOnWriteArrayList<>();
+        annotationXformers = new CopyOnWriteArrayList<>();
+        executionListeners = new CopyOnWriteArrayList<>();
+        suiteListeners = new CopyOnWriteArrayList<>();
+        configListeners = new CopyOnWriteArrayList<>();
+        methodListeners = new CopyOnWriteArrayList<>();
+        testListeners = new CopyOnWriteArrayList<>();
+        methodInterceptors = new CopyOnWriteArrayList<>();
+        classListeners = new CopyOnWriteArrayList<>();
+        dataProviderListeners = new CopyOnWriteArrayList<>();
+        statistics = isStatisticsEnabled() ? new ListenerStatistics() : null;
+        compileDispatchTables();
+    }
+    
+    /**
+     * Get the listeners to which the specified event is dispatched, in the order in which they were attached.
+     * 
+     * @param event listener event
+     * @return array of event targets (do not modify)
+     */
+    protected final ITestNGListener[] getDispatchTargets(ListenerEvent event) {
+        return dispatchTables[event.ordinal()];
+    }
+    
+    /**
+     * Get the dispatcher that delivers the specified event to its targets.
+     * <p>
+     * <b>NOTE</b>: The dispatcher is compiled from the dispatch table of the event on first use, and is reused until
+     * the tables are rebuilt. Once the listener set is stable, each event is delivered through a single handle that
+     * calls its targets directly, which the JIT compiler specializes for the bound listeners. The type of the
+     * dispatcher is the signature of the listener method, so it must be called with {@code invokeExact} and argument
+     * types that match this signature exactly.
+     * 
+     * @param event listener event
+     * @return event dispatcher
+     */
+    protected final MethodHandle getDispatcher(ListenerEvent event) {
+        // read the dispatcher cache before the tables, so cached dispatchers are never older than the tables
+        MethodHandle[] handles = dispatchers;
+        MethodHandle dispatcher = handles[event.ordinal()];
+        if (dispatcher == null) {
+            // concurrent threads may compile equivalent dispatchers; the last one cached wins
+            dispatcher = event.compileDispatcher(getDispatchTargets(event));
+            handles[event.ordinal()] = dispatcher;
+        }
+        return dispatcher;
+    }
+    
+    /**
+     * Rebuild the per-event dispatch tables from the current contents of the listener buckets.
+     * <p>
+     * <b>NOTE</b>: Each table contains the listeners in the bucket associated with the corresponding event. This
+     * method is invoked each time a listener is attached, and discards the dispatchers compiled from the previous
+     * tables. Subclasses that add entries to the listener buckets by other means must invoke it to make these entries
+     * visible to dispatch.
+     * <p>
+     * If statistics are enabled or a flight recording of {@link ListenerDispatchEvent} is active, the listeners in
+     * the tables are wrapped to record each dispatch. Otherwise, the tables hold the listeners themselves. The tables
+     * are also recompiled whenever a flight recording starts or stops.
+     */
+    protected void compileDispatchTables() {
+        synchronized (dispatchLock) {
+            boolean recordEvents = ListenerDispatchEvent.isRecording();
+            Map<ITestNGListener, ITestNGListener> wrappers = new IdentityHashMap<>();
+            ListenerEvent[] events = ListenerEvent.values();
+            ITestNGListener[][] tables = new ITestNGListener[events.length][];
+            for (ListenerEvent event : events) {
+                List<ITestNGListener> targets = new ArrayList<>();
+                for (ITestNGListener listener : getBucket(event)) {
+                    if ((statistics != null) || recordEvents) {
+                        targets.add(wrappers.computeIfAbsent(listener, k -> new TimedListener(k,
+                                (statistics != null) ? statistics.getEventStatistics(k) : null, recordEvents)));
+                    } else {
+                        targets.add(listener);
+                    }
+                }
+                tables[event.ordinal()] = targets.toArray(new ITestNGListener[0]);
+            }
+            dispatchTables = tables;
+            dispatchers = new MethodHandle[events.length];
+        }
+    }
+    
+    /**
+     * Determine if per-listener timing statistics should be collected by this chain.
+     * 
+     * @return {@code true} if the {@link TestNGSettings#LISTENER_STATS LISTENER_STATS} setting is enabled
+     */
+    private static boolean isStatisticsEnabled() {
+        return TestNGConfig.getConfig().getBoolean(TestNGSettings.LISTENER_STATS.key());
+    }
+    
+    /**
+     * Get the per-listener timing statistics collected by this chain.
+     * <p>
+     * <b>NOTE</b>: Collection of these statistics is enabled by the
+     * {@link TestNGSettings#LISTENER_STATS LISTENER_STATS} setting.
+     * 
+     * @return (optional) listener statistics; empty if collection is disabled
+     */
+    public Optional<ListenerStatistics> getListenerStatistics() {
+        return Optional.ofNullable(statistics);
+    }
+    
+    /**
+     * Get the listener bucket that holds the targets of the specified event.
+     * 
+     * @param event listener event
+     * @return listener bucket for the specified event
+     */
+    private List<? extends ITestNGListener> getBucket(ListenerEvent event) {
+        Class<? extends ITestNGListener> type = event.getListenerType();
+        if (type == IAnnotationTransformer.class) {
+            return annotationXformers;
+        } else if (type == IExecutionListener.class) {
+            return executionListeners;
+        } else if (type == ISuiteListener.class) {
+            return suiteListeners;
+        } else if (type == IConfigurationListener.class) {
+            return configListeners;
+        } else if (type == IInvokedMethodListener.class) {
+            return methodListeners;
+        } else if (type == ITestListener.class) {
+            return testListeners;
+        } else if (type == IMethodInterceptor.class) {
+            return methodInterceptors;
+        } else if (type == IDataProviderListener.class) {
+            return dataProviderListeners;
+        } else {
+            return classListeners;
+        }
     }
     
     /**
@@ -586,9 +786,7 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
             type = listenerTyp;
         }
         
-        if ( ! listenerSet.contains(type)) { //NOSONAR
-            listenerSet.add(type);
-            
+        if (listenerSet.add(type)) {
             if (object == null) {
                 try {
                     object = type.getDeclaredConstructor().newInstance();
@@ -598,43 +796,36 @@ public abstract class AbstractListenerChain implements IAnnotationTransformer, I
                 }
             }
             
-            synchronized(listeners) {
-                listeners.add(object);
-            }
+            listeners.add(object);
             
             bucketizeListener(object);
+            compileDispatchTables();
         }
     }
 
     protected void bucketizeListener(ITestNGListener object) {
         if (object instanceof IExecutionListener) {
-            synchronized(executionListeners) {
-                executionListeners.add((IExecutionListener) object);
-            }
+            executionListeners.add((IExecutionListener) object);
         }
         
         if (object instanceof ISuiteListener) {
-            synchronized(suiteListeners) {
-                suiteListeners.add((ISuiteListener) object);
-            }
+            suiteListeners.add((ISuiteListener) object);
         }
         
         if (object instanceof ITestListener) {
-            synchronized(testListeners) {
-                testListeners.add((ITestListener) object);
-            }
+            testListeners.add((ITestListener) object);
         }
         
         if (object instanceof IMethodInterceptor) {
-            synchronized(methodInterceptors) {
-                methodInterceptors.add((IMethodInterceptor) object);
-            }
+            methodInterceptors.add((IMethodInterceptor) object);
         }
         
         if (object instanceof IClassListener) {
-            synchronized(classListeners) {
-                classListeners.add((IClassListener) object);
-            }
+            classListeners.add((IClassListener) object);
+        }
+        
+        if (object instanceof IDataProviderListener) {
+            dataProviderListeners.add((IDataProviderListener) object);
         }
     }
     
@@ -0,0 +1,220 @@
+package com.nordstrom.automation.testng;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * This class appends artifacts to a single archive file, which is written through one {@link FileChannel}. The
+ * archive is a standard ZIP file, so it can be opened by any ZIP tool once it's been closed.
+ * <ul>
+ *     <li>Entries are <i>stored</i> (not compressed). The content of each artifact is copied into the archive with
+ *     {@link FileChannel#transferFrom FileChannel.transferFrom}, so artifacts are never held in memory, and each
+ *     artifact occupies a fixed region of the file that's addressed by the returned {@link ArtifactReference}.</li>
+ *     <li>The local header of each entry is written before its content, then patched with its CRC and size.</li>
+ *     <li>The central directory is accumulated in memory and written when the archive is closed.</li>
+ *     <li>Entry names follow the pattern of {@link ArtifactNameAllocator}: <i>baseName.ext</i>,
+ *     <i>baseName-1.ext</i>, <i>baseName-2.ext</i>, and so on.</li>
+ * </ul>
+ *
+ * <b>NOTE</b>: ZIP64 extensions aren't supported. An archive can hold at most 65,535 entries and 4 GiB of content;
+ * artifacts that would exceed these limits are rejected.
+ */
+final class ArtifactArchive implements Closeable {
+
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_RECORD_SIZE = 22;
+    private static final int CRC_OFFSET = 14;
+    private static final short VERSION = 10;
+    private static final short UTF8_FLAG = 0x0800;
+    private static final int MAX_ENTRIES = 0xFFFF;
+    private static final long MAX_OFFSET = 0xFFFFFFFFL;
+
+    private final Path archivePath;
+    private final FileChannel channel;
+    private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+    private final Map<String, Integer> sequences = new HashMap<>();
+    private int entryCount;
+    private long position;
+    private boolean closed;
+
+    /**
+     * Constructor: Open the specified archive file for writing.
+     *
+     * @param archivePath path of archive file
+     * @throws IOException if an I/O error occurs
+     */
+    ArtifactArchive(Path archivePath) throws IOException {
+        this.archivePath = archivePath;
+        this.channel = FileChannel.open(archivePath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Get the path of this archive.
+     *
+     * @return archive file path
+     */
+    Path getArchivePath() {
+        return archivePath;
+    }
+
+    /**
+     * Append the content of the specified channel to this archive as a new entry.
+     *
+     * @param baseName entry base name
+     * @param extension entry extension
+     * @param source channel from which to read the entry content
+     * @return reference to the new entry; {@code null} if the channel was empty
+     * @throws IOException if an I/O error occurs, or if the archive is closed or full
+     */
+    synchronized ArtifactReference append(String baseName, String extension, ReadableByteChannel source)
+            throws IOException {
+        if (closed) {
+            throw new IOException("Archive is closed: " + archivePath);
+        }
+        if (entryCount == MAX_ENTRIES) {
+            throw new IOException("Archive entry limit reached: " + archivePath);
+        }
+
+        String entryName = nextEntryName(baseName, extension);
+        byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+        long headerOffset = position;
+        long dataOffset = headerOffset + LOCAL_HEADER_SIZE + name.length;
+        int dosTime = dosTime(System.currentTimeMillis());
+
+        CRC32 crc = new CRC32();
+        long size = 0;
+        try {
+            // header must precede content, because [transferFrom] won't write past the end of the file
+            writeFully(localHeader(name, dosTime, 0, 0), headerOffset);
+            ReadableByteChannel checked = ArtifactStore.digesting(source, crc::update);
+            long count;
+            while ((count = channel.transferFrom(checked, dataOffset + size, Long.MAX_VALUE)) > 0) {
+                size += count;
+            }
+            if ((size == 0) || (dataOffset + size > MAX_OFFSET)) {
+                channel.truncate(headerOffset);
+                if (size == 0) {
+                    return null;
+                }
+                throw new IOException("Archive size limit exceeded: " + archivePath);
+            }
+            ByteBuffer patch = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            patch.putInt((int) crc.getValue()).putInt((int) size).putInt((int) size).flip();
+            writeFully(patch, headerOffset + CRC_OFFSET);
+        } catch (IOException e) {
+            channel.truncate(headerOffset);
+            throw e;
+        }
+
+        ByteBuffer central = ByteBuffer.allocate(CENTRAL_HEADER_SIZE + name.length).order(ByteOrder.LITTLE_ENDIAN);
+        central.putInt(CENTRAL_SIGNATURE).putShort(VERSION).putShort(VERSION).putShort(UTF8_FLAG).putShort((short) 0)
+                .putInt(dosTime).putInt((int) crc.getValue()).putInt((int) size).putInt((int) size)
+                .putShort((short) name.length).putShort((short) 0).putShort((short) 0).putShort((short) 0)
+                .putShort((short) 0).putInt(0).putInt((int) headerOffset).put(name);
+        centralDirectory.write(central.array(), 0, central.position());
+        entryCount++;
+        position = dataOffset + size;
+        return new ArtifactReference(archivePath, entryName, dataOffset, size);
+    }
+
+    /**
+     * Write the central directory and close this archive. This method is idempotent.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            ByteBuffer end = ByteBuffer.allocate(END_RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            end.putInt(END_SIGNATURE).putShort((short) 0).putShort((short) 0)
+                    .putShort((short) entryCount).putShort((short) entryCount)
+                    .putInt(centralDirectory.size()).putInt((int) position).putShort((short) 0).flip();
+            writeFully(ByteBuffer.wrap(centralDirectory.toByteArray()), position);
+            writeFully(end, position + centralDirectory.size());
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Get the next unused entry name for the specified base name.
+     *
+     * @param baseName entry base name
+     * @param extension entry extension
+     * @return entry name
+     */
+    private String nextEntryName(String baseName, String extension) {
+        String suffix = extension.isEmpty() ? "" : "." + extension;
+        int next = sequences.merge(baseName + suffix, 1, Integer::sum) - 1;
+        return (next == 0) ? baseName + suffix : baseName + "-" + next + suffix;
+    }
+
+    /**
+     * Write the entire content of the specified buffer at the indicated position.
+     *
+     * @param buffer buffer to write
+     * @param offset file position at which to write
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeFully(ByteBuffer buffer, long offset) throws IOException {
+        long at = offset;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    /**
+     * Build a local file header with the specified properties.
+     *
+     * @param name encoded entry name
+     * @param dosTime entry modification time in MS-DOS format
+     * @param crc CRC-32 of entry content
+     * @param size size of entry content
+     * @return buffer containing the local file header, ready to be written
+     */
+    private static ByteBuffer localHeader(byte[] name, int dosTime, int crc, int size) {
+        ByteBuffer header = ByteBuffer.allocate(LOCAL_HEADER_SIZE + name.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(LOCAL_SIGNATURE).putShort(VERSION).putShort(UTF8_FLAG).putShort((short) 0)
+                .putInt(dosTime).putInt(crc).putInt(size).putInt(size)
+                .putShort((short) name.length).putShort((short) 0).put(name).flip();
+        return header;
+    }
+
+    /**
+     * Convert the specified time to MS-DOS format.
+     *
+     * @param millis time in milliseconds since the epoch
+     * @return MS-DOS date (high 16 bits) and time (low 16 bits)
+     */
+    private static int dosTime(long millis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((time.getYear() - 1980) << 25) | (time.getMonthValue() << 21) | (time.getDayOfMonth() << 16)
+                | (time.getHour() << 11) | (time.getMinute() << 5) | (time.getSecond() >> 1);
+    }
+}
@@ -0,0 +1,186 @@
+package com.nordstrom.automation.testng;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+/**
+ * This class enforces the artifact capture budgets of an {@link ArtifactCollector}:
+ * <ul>
+ *     <li>{@link TestNGSettings#ARTIFACT_RUN_BYTES ARTIFACT_RUN_BYTES} - total bytes captured by all collectors</li>
+ *     <li>{@link TestNGSettings#ARTIFACT_PROVIDER_BYTES ARTIFACT_PROVIDER_BYTES} - bytes captured by this
+ *     collector</li>
+ *     <li>{@link TestNGSettings#ARTIFACT_METHOD_COUNT ARTIFACT_METHOD_COUNT} - artifacts captured by this collector
+ *     for each test method</li>
+ * </ul>
+ *
+ * A capture is admitted before the artifact is requested from the provider, so dropped captures cost nothing. Byte
+ * budgets are exhausted once the bytes already captured reach the limit, so a budget can be exceeded by the artifacts
+ * that were admitted before it ran out. The method count keeps the first <i>N</i> artifacts of each method; admitted
+ * captures that produce no artifact (e.g. - empty content, provider exceptions, or write failures) are
+ * {@link #refund(ITestResult) refunded}, so they don't count against this limit. All checks are performed with atomic
+ * counters; no locks are taken on the capture path.
+ * <p>
+ * The run budget is shared by every collector in the JVM. Captures dropped by each collector are summarized by
+ * {@link #logSummary(String)}.
+ */
+final class ArtifactBudget {
+
+    private static final AtomicLong RUN_BYTES = new AtomicLong();
+    private static final int SUMMARY_METHODS = 10;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactBudget.class);
+
+    private final long runLimit;
+    private final long providerLimit;
+    private final int methodLimit;
+    private final AtomicLong providerBytes = new AtomicLong();
+    private final Map<String, MethodTally> methods = new ConcurrentHashMap<>();
+    private final LongAdder droppedByRun = new LongAdder();
+    private final LongAdder droppedByProvider = new LongAdder();
+    private final LongAdder droppedByMethod = new LongAdder();
+
+    /**
+     * Constructor: Read the budget limits from the specified configuration.
+     *
+     * @param config TestNG configuration object
+     */
+    ArtifactBudget(TestNGConfig config) {
+        this.runLimit = config.getLong(TestNGSettings.ARTIFACT_RUN_BYTES.key());
+        this.providerLimit = config.getLong(TestNGSettings.ARTIFACT_PROVIDER_BYTES.key());
+        this.methodLimit = config.getInt(TestNGSettings.ARTIFACT_METHOD_COUNT.key());
+    }
+
+    /**
+     * Determine if an artifact may be captured for the specified test result. If admitted, the capture is counted
+     * against the per-method limit.
+     *
+     * @param result TestNG test result object
+     * @return {@code true} if the capture is admitted; {@code false} if it's dropped
+     */
+    boolean admit(ITestResult result) {
+        if ((runLimit > 0) && (RUN_BYTES.get() >= runLimit)) {
+            droppedByRun.increment();
+            return false;
+        }
+        if ((providerLimit > 0) && (providerBytes.get() >= providerLimit)) {
+            droppedByProvider.increment();
+            return false;
+        }
+        if (methodLimit > 0) {
+            MethodTally tally = getTally(result.getMethod().getQualifiedName());
+            int count;
+            do {
+                count = tally.captured.get();
+                if (count >= methodLimit) {
+                    tally.dropped.incrementAndGet();
+                    droppedByMethod.increment();
+                    return false;
+                }
+            } while ( ! tally.captured.compareAndSet(count, count + 1));
+        }
+        return true;
+    }
+    
+    /**
+     * Return the per-method slot of an admitted capture that produced no artifact.
+     *
+     * @param result TestNG test result object
+     */
+    void refund(ITestResult result) {
+        if (methodLimit > 0) {
+            getTally(result.getMethod().getQualifiedName()).captured.decrementAndGet();
+        }
+    }
+
+    /**
+     * Charge the specified number of captured bytes against the byte budgets.
+     *
+     * @param bytes number of bytes captured
+     */
+    void charge(long bytes) {
+        RUN_BYTES.addAndGet(bytes);
+        providerBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Get the number of captures that were dropped because a budget was exhausted.
+     *
+     * @return number of dropped captures
+     */
+    long getDroppedCount() {
+        return droppedByRun.sum() + droppedByProvider.sum() + droppedByMethod.sum();
+    }
+
+    /**
+     * Log a summary of the captures that were dropped, if any.
+     *
+     * @param providerName name of the artifact provider
+     */
+    void logSummary(String providerName) {
+        long dropped = getDroppedCount();
+        if (dropped == 0) {
+            return;
+        }
+        List<Map.Entry<String, MethodTally>> limited = new ArrayList<>();
+        for (Map.Entry<String, MethodTally> entry : methods.entrySet()) {
+            if (entry.getValue().dropped.get() > 0) {
+                limited.add(entry);
+            }
+        }
+        limited.sort((a, b) -> Integer.compare(b.getValue().dropped.get(), a.getValue().dropped.get()));
+        StringBuilder methodList = new StringBuilder();
+        for (Map.Entry<String, MethodTally> entry : limited.subList(0, Math.min(SUMMARY_METHODS, limited.size()))) {
+            methodList.append("\n    ").append(entry.getKey()).append(": ").append(entry.getValue().dropped.get());
+        }
+        if (limited.size() > SUMMARY_METHODS) {
+            methodList.append("\n    (").append(limited.size() - SUMMARY_METHODS).append(" more)");
+        }
+        LOGGER.warn("{} artifact capture(s) dropped for [{}]: run budget = {}, provider budget = {}, "
+                + "method limit = {}; bytes captured: provider = {}, run = {}{}", dropped, providerName,
+                droppedByRun.sum(), droppedByProvider.sum(), droppedByMethod.sum(), providerBytes.get(),
+                RUN_BYTES.get(), methodList);
+    }
+
+    /**
+     * Get the capture tally for the specified method.
+     *
+     * @param methodName qualified method name
+     * @return method capture tally
+     */
+    private MethodTally getTally(String methodName) {
+        MethodTally tally = methods.get(methodName);
+        if (tally == null) {
+            MethodTally created = new MethodTally();
+            tally = methods.putIfAbsent(methodName, created);
+            if (tally == null) {
+                tally = created;
+            }
+        }
+        return tally;
+    }
+
+    /**
+     * Reset the number of bytes captured by all collectors.
+     */
+    static void resetRunBytes() {
+        RUN_BYTES.set(0);
+    }
+
+    /**
+     * This class tallies the captures that were admitted and dropped for a single method.
+     */
+    private static final class MethodTally {
+        private final AtomicInteger captured = new AtomicInteger();
+        private final AtomicInteger dropped = new AtomicInteger();
+    }
+}
@@ -1,33 +1,93 @@
 package com.nordstrom.automation.testng;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.testng.IConfigurationListener;
+import org.testng.IExecutionListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import com.nordstrom.common.file.PathUtils;
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
 
 /**
  * This TestNG {@link ITestListener test listener} that serves as the foundation for artifact-capturing test listeners.
  * This is a generic class, with the artifact-specific implementation provided by implementations of the {@link
  * ArtifactType} interface.
+ * <p>
+ * By default, artifacts are named and written on the thread of the test that failed. If the {@link
+ * TestNGSettings#ARTIFACT_QUEUE ARTIFACT_QUEUE} setting is positive, artifacts are written asynchronously instead: the
+ * artifact is captured on the test thread, and naming and writing are handed off to a dedicated writer thread through a
+ * queue of the specified capacity. If the queue is full, the test thread waits for the writer to catch up. Pending
+ * artifacts are flushed when each test context finishes, and the writer is stopped when execution finishes, so the
+ * paths of all artifacts are {@link #retrieveArtifactPaths(ITestResult) available} to reporters. Because TestNG test
+ * results aren't thread-safe, the writer thread never touches their attributes. Instead, the paths and references of
+ * written artifacts are held by the collector, and they're recorded in their test results by the listener thread once
+ * the writer has been flushed.
+ * <p>
+ * If the {@link TestNGSettings#ARTIFACT_DEDUP ARTIFACT_DEDUP} setting is enabled, artifacts are stored in a
+ * content-addressed layout: each distinct artifact is written once, and the artifact file of each test is a hard link
+ * to the shared copy. See {@link ArtifactStore} for details.
+ * <p>
+ * If the {@link TestNGSettings#ARTIFACT_ARCHIVE ARTIFACT_ARCHIVE} setting is enabled, artifacts are appended to a
+ * single ZIP archive per suite and collection directory instead of being written as separate files. The archive is
+ * closed when the suite finishes. In this mode, artifact paths aren't recorded; {@link
+ * #retrieveArtifactReferences(ITestResult) retrieveArtifactReferences} provides references through which reporters can
+ * read the archived artifacts.
+ * <p>
+ * Captures can be limited by the {@link TestNGSettings#ARTIFACT_RUN_BYTES ARTIFACT_RUN_BYTES}, {@link
+ * TestNGSettings#ARTIFACT_PROVIDER_BYTES ARTIFACT_PROVIDER_BYTES}, and {@link TestNGSettings#ARTIFACT_METHOD_COUNT
+ * ARTIFACT_METHOD_COUNT} budgets. Once a budget is exhausted, further captures are dropped, and a summary of the dropped
+ * captures is logged when execution finishes. See {@link ArtifactBudget} for details.
+ * <p>
+ * If the {@link TestNGSettings#ARTIFACT_SAMPLE_COUNT ARTIFACT_SAMPLE_COUNT} setting is positive, artifacts are captured
+ * only for the first failures with each signature (exception type plus top stack frames). Later failures with the same
+ * signature aren't captured; the artifacts of the earlier failures are included in the paths and references retrieved
+ * for them. See {@link ArtifactSampler} for details.
  * 
  * @param <T> scenario-specific artifact capture type
  */
-public class ArtifactCollector<T extends ArtifactType> implements ITestListener, IConfigurationListener {
+public class ArtifactCollector<T extends ArtifactType>
+        implements ITestListener, IConfigurationListener, IExecutionListener, ISuiteListener {
     
     private static final String ARTIFACT_PATHS = "ArtifactPaths";
+    private static final String ARTIFACT_REFERENCES = "ArtifactReferences";
+    private static final String ARTIFACT_SAMPLES = "ArtifactSamples";
+    private static final String ARCHIVE_EXTENSION = "zip";
     
     private final T provider;
+    private final Lock captureLock = new ReentrantLock();
+    private final int queueCapacity;
+    private final boolean dedup;
+    private final boolean archive;
+    private final ArtifactBudget budget;
+    private final ArtifactSampler sampler;
+    private final Map<ISuite, Map<Path, ArtifactArchive>> archives = new ConcurrentHashMap<>();
+    private final Map<ITestResult, List<Path>> pendingPaths = new ConcurrentHashMap<>();
+    private final Map<ITestResult, List<ArtifactReference>> pendingReferences = new ConcurrentHashMap<>();
+    private volatile ArtifactWriter writer;
     
     /**
      * Compose this artifact collector with a type-specific artifact implementation.
@@ -36,6 +96,48 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
      */
     public ArtifactCollector(T provider) {
         this.provider = provider;
+        TestNGConfig config = TestNGConfig.getConfig();
+        this.queueCapacity = config.getInt(TestNGSettings.ARTIFACT_QUEUE.key());
+        this.dedup = config.getBoolean(TestNGSettings.ARTIFACT_DEDUP.key());
+        this.archive = config.getBoolean(TestNGSettings.ARTIFACT_ARCHIVE.key());
+        this.budget = new ArtifactBudget(config);
+        this.sampler = new ArtifactSampler(config);
+    }
+    
+    @Override
+    public void onExecutionStart() {
+        // nothing to do here
+    }
+    
+    @Override
+    public void onExecutionFinish() {
+        ArtifactWriter current = writer;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                warn("Interrupted while closing artifact writer", e);
+            }
+        }
+        recordPendingArtifacts(result -> true);
+        for (ISuite suite : archives.keySet()) {
+            closeArchives(suite);
+        }
+        budget.logSummary(provider.getClass().getName());
+        sampler.logSummary(provider.getClass().getName());
+    }
+    
+    @Override
+    public void onStart(ISuite suite) {
+        // nothing to do here
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        flushWriter();
+        recordPendingArtifacts(result -> result.getTestContext().getSuite() == suite);
+        closeArchives(suite);
     }
 
     @Override
@@ -55,7 +157,8 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
     
     @Override
     public void onFinish(ITestContext context) {
-        // nothing to do here
+        flushWriter();
+        recordPendingArtifacts(result -> result.getTestContext() == context);
     }
 
     @Override
@@ -91,21 +194,313 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
     
     /**
      * Capture artifact from the current test result context.
+     * <p>
+     * <b>NOTE</b>: Captures are serialized by an explicit lock rather than a {@code synchronized} block, so a virtual
+     * thread that blocks on artifact I/O doesn't pin its carrier thread.
+     * <p>
+     * <b>NOTE</b>: If artifacts are written asynchronously, this method returns as soon as the artifact has been
+     * queued, and the returned path is always empty. The path is recorded in the test result once the artifact has
+     * been written and the test context finishes; use {@link #retrieveArtifactPaths(ITestResult)} after that to get
+     * it.
      * 
      * @param result TestNG test result object
      * @return (optional) path at which the captured artifact was stored
      */
-    public synchronized Optional<Path> captureArtifact(ITestResult result) {
-        if (! provider.canGetArtifact(result)) {
+    public Optional<Path> captureArtifact(ITestResult result) {
+        ArtifactCaptureEvent event = new ArtifactCaptureEvent();
+        event.begin();
+        if (queueCapacity > 0) {
+            queueArtifact(result, event);
             return Optional.empty();
         }
+        Optional<Path> artifactPath = Optional.empty();
+        captureLock.lock();
+        try {
+            artifactPath = saveArtifact(result);
+        } finally {
+            captureLock.unlock();
+            event.complete(provider, result, artifactPath);
+        }
+        return artifactPath;
+    }
+    
+    /**
+     * Get artifact from the current test result context and save it to the collection directory.
+     * 
+     * @param result TestNG test result object
+     * @return (optional) path at which the captured artifact was stored
+     */
+    private Optional<Path> saveArtifact(ITestResult result) {
+        ArtifactContent artifact = getArtifact(result);
+        if (artifact == null) {
+            return Optional.empty();
+        }
+        return writeArtifact(result, artifact, getCollectionPath(result), getArtifactBaseName(result));
+    }
+    
+    /**
+     * Get artifact from the current test result context and queue it for the writer thread. The capture event is
+     * completed by the writer thread once the artifact has been written.
+     * 
+     * @param result TestNG test result object
+     * @param event artifact capture event
+     */
+    private void queueArtifact(ITestResult result, ArtifactCaptureEvent event) {
+        ArtifactContent artifact = getArtifact(result);
+        if (artifact == null) {
+            event.complete(provider, result, Optional.empty());
+            return;
+        }
+        // resolve result-dependent names on the test thread
+        Path collectionPath = getCollectionPath(result);
+        String baseName = getArtifactBaseName(result);
+        try {
+            getWriter().submit(() -> event.complete(provider, result,
+                    writeArtifact(result, artifact, collectionPath, baseName)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            warn("Interrupted while queueing artifact; no artifact was captured", e);
+            artifact.release();
+            refund(result);
+            event.complete(provider, result, Optional.empty());
+        }
+    }
+    
+    /**
+     * Get the artifact writer of this collector, starting a new one if needed.
+     * 
+     * @return artifact writer
+     */
+    private ArtifactWriter getWriter() {
+        ArtifactWriter current = writer;
+        if ((current == null) || current.isClosed()) {
+            captureLock.lock();
+            try {
+                if ((writer == null) || writer.isClosed()) {
+                    writer = new ArtifactWriter(queueCapacity);
+                }
+                current = writer;
+            } finally {
+                captureLock.unlock();
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Wait for the artifact writer of this collector (if any) to complete all pending writes.
+     */
+    private void flushWriter() {
+        ArtifactWriter current = writer;
+        if (current != null) {
+            try {
+                current.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                warn("Interrupted while flushing artifact writer", e);
+            }
+        }
+    }
+    
+    /**
+     * Record the paths and references of artifacts written by the writer thread in the test results that match the
+     * specified filter. This method is called on the listener thread after the writer has been flushed.
+     * 
+     * @param filter test result filter
+     */
+    private void recordPendingArtifacts(Predicate<ITestResult> filter) {
+        for (ITestResult result : pendingPaths.keySet()) {
+            if (filter.test(result)) {
+                List<Path> artifactPaths = pendingPaths.remove(result);
+                if (artifactPaths != null) {
+                    artifactPaths.forEach(artifactPath -> recordArtifactPath(artifactPath, result));
+                }
+            }
+        }
+        for (ITestResult result : pendingReferences.keySet()) {
+            if (filter.test(result)) {
+                List<ArtifactReference> references = pendingReferences.remove(result);
+                if (references != null) {
+                    references.forEach(reference -> recordArtifactReference(reference, result));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Add the specified item to the list for the indicated test result in the specified pending artifact map. The
+     * list is only modified within the atomic {@link Map#compute compute} operation, so a list that has been removed
+     * from the map is never modified again.
+     * 
+     * @param <E> artifact locator type
+     * @param pending pending artifact map
+     * @param result TestNG test result object
+     * @param item artifact locator to add
+     */
+    private static <E> void addPending(Map<ITestResult, List<E>> pending, ITestResult result, E item) {
+        pending.compute(result, (key, items) -> {
+            List<E> list = (items != null) ? items : new ArrayList<>();
+            list.add(item);
+            return list;
+        });
+    }
+    
+    /**
+     * Get the archive for the specified collection directory in the suite of the indicated test result, creating it
+     * if needed.
+     * 
+     * @param result TestNG test result object
+     * @param collectionPath path of artifact storage directory
+     * @return artifact archive
+     * @throws IOException if an I/O error occurs while creating the archive
+     */
+    private ArtifactArchive getArchive(ITestResult result, Path collectionPath) throws IOException {
+        ISuite suite = result.getTestContext().getSuite();
+        Map<Path, ArtifactArchive> suiteArchives = archives.computeIfAbsent(suite, s -> new ConcurrentHashMap<>());
+        try {
+            return suiteArchives.computeIfAbsent(collectionPath, path -> {
+                try {
+                    String baseName = suite.getName().replaceAll("[^\\w.-]", "_");
+                    return new ArtifactArchive(ArtifactNameAllocator.createNextPath(path, baseName, ARCHIVE_EXTENSION));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Close the archives of the specified suite.
+     * 
+     * @param suite TestNG suite object
+     */
+    private void closeArchives(ISuite suite) {
+        Map<Path, ArtifactArchive> suiteArchives = archives.remove(suite);
+        if (suiteArchives != null) {
+            for (ArtifactArchive artifactArchive : suiteArchives.values()) {
+                try {
+                    artifactArchive.close();
+                } catch (IOException e) {
+                    if (provider.getLogger() != null) {
+                        provider.getLogger().warn("Unable to close artifact archive ({})",
+                                artifactArchive.getArchivePath(), e);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get artifact from the current test result context. If the provider is a {@link StreamingArtifactType}, the
+     * artifact channel is opened, but not read. If the failure of the test result has already been sampled or a
+     * capture budget is exhausted, the artifact isn't requested.
+     * 
+     * @param result TestNG test result object
+     * @return captured artifact content; {@code null} if no artifact was captured
+     */
+    private ArtifactContent getArtifact(ITestResult result) {
+        if (! provider.canGetArtifact(result)) {
+            return null;
+        }
+        
+        ArtifactSampler.Sample sample = sampler.getReference(result);
+        if (sample != null) {
+            if (provider.getLogger() != null) {
+                provider.getLogger().debug("Failure signature already sampled; referencing captured artifacts");
+            }
+            recordArtifactSample(sample, result);
+            return null;
+        }
+        
+        if (! budget.admit(result)) {
+            if (provider.getLogger() != null) {
+                provider.getLogger().debug("Artifact capture budget exhausted; no artifact was captured");
+            }
+            sampler.refund(result);
+            return null;
+        }
+        
+        ArtifactContent artifact = null;
+        try {
+            artifact = requestArtifact(result);
+        } finally {
+            if (artifact == null) {
+                // nothing was captured; return the slots to the method budget and the sample
+                refund(result);
+            }
+        }
+        return artifact;
+    }
+    
+    /**
+     * Return the method budget slot and the sample slot claimed by a capture for the specified test result that
+     * produced no artifact.
+     * 
+     * @param result TestNG test result object
+     */
+    private void refund(ITestResult result) {
+        budget.refund(result);
+        sampler.refund(result);
+    }
+    
+    /**
+     * Request the artifact for the specified test result from the provider.
+     * 
+     * @param result TestNG test result object
+     * @return captured artifact content; {@code null} if the provider returned no artifact
+     */
+    private ArtifactContent requestArtifact(ITestResult result) {
+        if (provider instanceof StreamingArtifactType) {
+            ReadableByteChannel channel = ((StreamingArtifactType) provider).getArtifactChannel(result);
+            return (channel != null) ? new ChannelContent(channel, provider) : null;
+        }
         
         byte[] artifact = provider.getArtifact(result);
         if ((artifact == null) || (artifact.length == 0)) {
-            return Optional.empty();
+            return null;
         }
-        
-        Path collectionPath = getCollectionPath(result);
+        return new ByteContent(artifact);
+    }
+    
+    /**
+     * Save the specified artifact to the indicated collection directory, then release the artifact. If no artifact
+     * is saved, the capture is refunded to the method budget and the sample.
+     * 
+     * @param result TestNG test result object
+     * @param artifact captured artifact content
+     * @param collectionPath path of artifact storage directory
+     * @param baseName artifact file base name
+     * @return (optional) path at which the captured artifact was stored
+     */
+    private Optional<Path> writeArtifact(ITestResult result, ArtifactContent artifact, Path collectionPath,
+            String baseName) {
+        Optional<Path> artifactPath = Optional.empty();
+        try {
+            if (createCollectionDirectory(collectionPath)) {
+                if (archive) {
+                    artifactPath = archiveContent(result, artifact, collectionPath, baseName);
+                } else {
+                    artifactPath = saveContent(result, artifact, collectionPath, baseName);
+                }
+            }
+            return artifactPath;
+        } finally {
+            artifact.release();
+            if (! artifactPath.isPresent()) {
+                refund(result);
+            }
+        }
+    }
+    
+    /**
+     * Create the specified collection directory if it doesn't exist.
+     * 
+     * @param collectionPath path of artifact storage directory
+     * @return {@code true} if the directory exists; otherwise {@code false}
+     */
+    private boolean createCollectionDirectory(Path collectionPath) {
         if (!collectionPath.toFile().exists()) {
             try {
                 Files.createDirectories(collectionPath);
@@ -114,15 +509,80 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
                     String messageTemplate = "Unable to create collection directory ({}); no artifact was captured";
                     provider.getLogger().warn(messageTemplate, collectionPath, e);
                 }
-                return Optional.empty();
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Append the specified artifact to the archive of the indicated collection directory.
+     * 
+     * @param result TestNG test result object
+     * @param artifact captured artifact content
+     * @param collectionPath path of artifact storage directory
+     * @param baseName artifact entry base name
+     * @return (optional) path of the archive in which the captured artifact was stored
+     */
+    private Optional<Path> archiveContent(ITestResult result, ArtifactContent artifact, Path collectionPath,
+            String baseName) {
+        ArtifactArchive artifactArchive;
+        try {
+            artifactArchive = getArchive(result, collectionPath);
+        } catch (IOException e) {
+            if (provider.getLogger() != null) {
+                provider.getLogger().warn("Unable to create artifact archive; no artifact was captured", e);
             }
+            return Optional.empty();
+        }
+        
+        ArtifactReference reference;
+        try {
+            reference = artifactArchive.append(baseName, provider.getArtifactExtension(), artifact.getChannel());
+        } catch (IOException e) {
+            if (provider.getLogger() != null) {
+                provider.getLogger().warn("I/O error saving to ({}); no artifact was captured",
+                        artifactArchive.getArchivePath(), e);
+            }
+            return Optional.empty();
+        }
+        if (reference == null) {
+            // empty stream; no artifact was captured
+            return Optional.empty();
         }
         
+        if (provider.getLogger() != null) {
+            provider.getLogger().info("Saved captured artifact to ({}).", reference);
+        }
+        budget.charge(reference.getSize());
+        if (queueCapacity > 0) {
+            addPending(pendingReferences, result, reference);
+        } else {
+            recordArtifactReference(reference, result);
+        }
+        ArtifactSampler.Sample sample = sampler.getSample(result);
+        if (sample != null) {
+            sample.getReferences().add(reference);
+        }
+        return Optional.of(artifactArchive.getArchivePath());
+    }
+    
+    /**
+     * Save the specified artifact to the indicated collection directory.
+     * 
+     * @param result TestNG test result object
+     * @param artifact captured artifact content
+     * @param collectionPath path of artifact storage directory
+     * @param baseName artifact file base name
+     * @return (optional) path at which the captured artifact was stored
+     */
+    private Optional<Path> saveContent(ITestResult result, ArtifactContent artifact, Path collectionPath,
+            String baseName) {
         Path artifactPath;
         try {
-            artifactPath = PathUtils.getNextPath(
+            artifactPath = ArtifactNameAllocator.createNextPath(
                             collectionPath, 
-                            getArtifactBaseName(result), 
+                            baseName, 
                             provider.getArtifactExtension());
         } catch (IOException e) {
             if (provider.getLogger() != null) {
@@ -135,7 +595,15 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
             if (provider.getLogger() != null) {
                 provider.getLogger().info("Saving captured artifact to ({}).", artifactPath);
             }
-            Files.write(artifactPath, artifact);
+            long size = dedup
+                    ? ArtifactStore.store(collectionPath, provider.getArtifactExtension(), artifact, artifactPath)
+                    : artifact.writeTo(artifactPath, null);
+            if (size == 0) {
+                // empty stream; no artifact was captured
+                Files.deleteIfExists(artifactPath);
+                return Optional.empty();
+            }
+            budget.charge(size);
         } catch (IOException e) {
             if (provider.getLogger() != null) {
                 provider.getLogger().warn("I/O error saving to ({}); no artifact was captured", artifactPath, e);
@@ -143,10 +611,30 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
             return Optional.empty();
         }
         
-        recordArtifactPath(artifactPath, result);
+        if (queueCapacity > 0) {
+            addPending(pendingPaths, result, artifactPath);
+        } else {
+            recordArtifactPath(artifactPath, result);
+        }
+        ArtifactSampler.Sample sample = sampler.getSample(result);
+        if (sample != null) {
+            sample.getPaths().add(artifactPath);
+        }
         return Optional.of(artifactPath);
     }
     
+    /**
+     * Log a warning with the logger of the artifact provider (if any).
+     * 
+     * @param message warning message
+     * @param e exception that caused the warning
+     */
+    private void warn(String message, Exception e) {
+        if (provider.getLogger() != null) {
+            provider.getLogger().warn(message, e);
+        }
+    }
+    
     /**
      * Get path of directory at which to store artifacts.
      * 
@@ -186,7 +674,7 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
      * @param artifactPath path at which the captured artifact was stored 
      * @param result TestNG test result object
      */
-    private static void recordArtifactPath(Path artifactPath, ITestResult result) {
+    private static synchronized void recordArtifactPath(Path artifactPath, ITestResult result) {
         @SuppressWarnings("unchecked")
         List<Path> artifactPaths = (List<Path>) result.getAttribute(ARTIFACT_PATHS);
         if (artifactPaths == null) {
@@ -197,7 +685,8 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
     }
     
     /**
-     * Retrieve the paths of artifacts that were stored in the indicated test result.
+     * Retrieve the paths of artifacts that were stored in the indicated test result. If the failure of the test result
+     * was sampled, the paths of the artifacts captured for its failure signature are included.
      * 
      * @param result TestNG test result object
      * @return (optional) list of artifact paths
@@ -205,13 +694,79 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
     public static synchronized Optional<List<Path>> retrieveArtifactPaths(ITestResult result) {
         @SuppressWarnings("unchecked")
         List<Path> artifactPaths = (List<Path>) result.getAttribute(ARTIFACT_PATHS);
-        if (artifactPaths != null) {
-            return Optional.of(artifactPaths);
-        } else {
-            return Optional.empty();
-        }
+        return withSamples(artifactPaths, result, ArtifactSampler.Sample::getPaths);
     }
 
+    /**
+     * Record the specified archived artifact reference in the indicated test result.
+     * 
+     * @param reference reference to the archived artifact
+     * @param result TestNG test result object
+     */
+    private static synchronized void recordArtifactReference(ArtifactReference reference, ITestResult result) {
+        @SuppressWarnings("unchecked")
+        List<ArtifactReference> references = (List<ArtifactReference>) result.getAttribute(ARTIFACT_REFERENCES);
+        if (references == null) {
+            references = new ArrayList<>();
+            result.setAttribute(ARTIFACT_REFERENCES, references);
+        }
+        references.add(reference);
+    }
+    
+    /**
+     * Retrieve references to the archived artifacts that were stored in the indicated test result. If the failure of
+     * the test result was sampled, references to the artifacts captured for its failure signature are included.
+     * 
+     * @param result TestNG test result object
+     * @return (optional) list of archived artifact references
+     */
+    public static synchronized Optional<List<ArtifactReference>> retrieveArtifactReferences(ITestResult result) {
+        @SuppressWarnings("unchecked")
+        List<ArtifactReference> references = (List<ArtifactReference>) result.getAttribute(ARTIFACT_REFERENCES);
+        return withSamples(references, result, ArtifactSampler.Sample::getReferences);
+    }
+    
+    /**
+     * Record the specified failure signature sample in the indicated test result.
+     * 
+     * @param sample failure signature sample
+     * @param result TestNG test result object
+     */
+    private static synchronized void recordArtifactSample(ArtifactSampler.Sample sample, ITestResult result) {
+        @SuppressWarnings("unchecked")
+        List<ArtifactSampler.Sample> samples = (List<ArtifactSampler.Sample>) result.getAttribute(ARTIFACT_SAMPLES);
+        if (samples == null) {
+            samples = new ArrayList<>();
+            result.setAttribute(ARTIFACT_SAMPLES, samples);
+        }
+        if ( ! samples.contains(sample)) {
+            samples.add(sample);
+        }
+    }
+    
+    /**
+     * Add the artifacts of the failure signature samples recorded in the specified test result to the indicated list.
+     * 
+     * @param <E> artifact locator type
+     * @param artifacts (optional) list of artifacts that were stored in the test result; may be {@code null}
+     * @param result TestNG test result object
+     * @param getter function that gets the artifacts of a sample
+     * @return (optional) list of artifacts
+     */
+    private static <E> Optional<List<E>> withSamples(List<E> artifacts, ITestResult result,
+            Function<ArtifactSampler.Sample, List<E>> getter) {
+        @SuppressWarnings("unchecked")
+        List<ArtifactSampler.Sample> samples = (List<ArtifactSampler.Sample>) result.getAttribute(ARTIFACT_SAMPLES);
+        if (samples == null) {
+            return Optional.ofNullable(artifacts);
+        }
+        List<E> merged = (artifacts != null) ? new ArrayList<>(artifacts) : new ArrayList<>();
+        for (ArtifactSampler.Sample sample : samples) {
+            merged.addAll(getter.apply(sample));
+        }
+        return merged.isEmpty() ? Optional.empty() : Optional.of(merged);
+    }
+    
     /**
      * Get the artifact provider object.
      * 
@@ -220,5 +775,108 @@ public class ArtifactCollector<T extends ArtifactType> implements ITestListener,
     public T getArtifactProvider() {
         return provider;
     }
+    
+    /**
+     * This interface represents captured artifact content that's ready to be written to a file.
+     */
+    private interface ArtifactContent extends ArtifactStore.ContentWriter {
+        
+        /**
+         * Get a channel from which to read this artifact content.
+         * 
+         * @return channel from which to read the artifact
+         */
+        ReadableByteChannel getChannel();
+        
+        /**
+         * Release the resources held by this artifact content.
+         */
+        default void release() {
+            // nothing to do here
+        }
+    }
+    
+    /**
+     * This class represents artifact content that was captured as a byte array.
+     */
+    private static final class ByteContent implements ArtifactContent {
+        
+        private final byte[] artifact;
+        
+        /**
+         * Constructor: Wrap the specified artifact byte array.
+         * 
+         * @param artifact byte array containing the captured artifact
+         */
+        ByteContent(byte[] artifact) {
+            this.artifact = artifact;
+        }
+        
+        @Override
+        public long writeTo(Path artifactPath, MessageDigest digest) throws IOException {
+            if (digest != null) {
+                digest.update(artifact);
+            }
+            Files.write(artifactPath, artifact);
+            return artifact.length;
+        }
+        
+        @Override
+        public ReadableByteChannel getChannel() {
+            return Channels.newChannel(new ByteArrayInputStream(artifact));
+        }
+    }
+    
+    /**
+     * This class represents artifact content that's read from a channel opened by a {@link StreamingArtifactType}.
+     * The channel is copied to the artifact file by {@link FileChannel#transferFrom}, which reads through a bounded
+     * buffer (or maps the source, if it's a file channel), so the artifact is never held in memory.
+     */
+    private static final class ChannelContent implements ArtifactContent {
+        
+        private final ReadableByteChannel channel;
+        private final ArtifactType provider;
+        
+        /**
+         * Constructor: Wrap the specified artifact channel.
+         * 
+         * @param channel channel from which to read the artifact
+         * @param provider artifact provider that opened the channel
+         */
+        ChannelContent(ReadableByteChannel channel, ArtifactType provider) {
+            this.channel = channel;
+            this.provider = provider;
+        }
+        
+        @Override
+        public long writeTo(Path artifactPath, MessageDigest digest) throws IOException {
+            ReadableByteChannel source = (digest != null) ? ArtifactStore.digesting(channel, digest::update) : channel;
+            try (FileChannel target = FileChannel.open(artifactPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long count;
+                while ((count = target.transferFrom(source, position, Long.MAX_VALUE)) > 0) {
+                    position += count;
+                }
+                return position;
+            }
+        }
+        
+        @Override
+        public ReadableByteChannel getChannel() {
+            return channel;
+        }
+        
+        @Override
+        public void release() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (provider.getLogger() != null) {
+                    provider.getLogger().warn("Unable to close artifact channel", e);
+                }
+            }
+        }
+    }
 
 }
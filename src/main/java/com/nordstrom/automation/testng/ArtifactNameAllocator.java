@@ -0,0 +1,134 @@
+package com.nordstrom.automation.testng;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class allocates unique artifact file names within a collection directory. Names follow the pattern of
+ * {@link com.nordstrom.common.file.PathUtils#getNextPath PathUtils.getNextPath}: the first artifact with a given base
+ * name is <i>baseName.ext</i>, and subsequent artifacts are <i>baseName-1.ext</i>, <i>baseName-2.ext</i>, and so on.
+ * <p>
+ * Unlike {@code getNextPath}, which scans the directory for every new name, each allocator scans its directory once,
+ * when it's created, to find the highest sequence number in use for each base name. Later names are handed out from
+ * in-memory counters, so allocation doesn't touch the directory except to create the file itself. The file is created
+ * with {@code CREATE_NEW} semantics; if another process has taken the name in the meantime, the next sequence number
+ * is tried.
+ * <p>
+ * <b>NOTE</b>: Allocators live for the life of the JVM. If artifact files are deleted while tests are running, their
+ * sequence numbers are not reused.
+ */
+final class ArtifactNameAllocator {
+
+    private static final Map<Path, Map<String, ArtifactNameAllocator>> ALLOCATORS = new ConcurrentHashMap<>();
+    private static final Pattern SEQUENCED = Pattern.compile("(.+)-(\\d+)");
+
+    private final Path directory;
+    private final String suffix;
+    private final Map<String, AtomicInteger> sequences = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor: Seed the sequence numbers of the specified directory from its existing files.
+     *
+     * @param directory path of artifact storage directory
+     * @param extension artifact file extension
+     * @throws IOException if an I/O error occurs while listing the directory
+     */
+    private ArtifactNameAllocator(Path directory, String extension) throws IOException {
+        this.directory = directory;
+        this.suffix = "." + extension;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if ((name.length() > suffix.length()) && name.endsWith(suffix)) {
+                    seed(name.substring(0, name.length() - suffix.length()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a new empty artifact file with a unique name in the specified directory.
+     *
+     * @param directory path of artifact storage directory (must exist)
+     * @param baseName artifact file base name
+     * @param extension artifact file extension
+     * @return path of the new artifact file
+     * @throws IOException if an I/O error occurs
+     */
+    static Path createNextPath(Path directory, String baseName, String extension) throws IOException {
+        Path key = directory.toAbsolutePath().normalize();
+        Map<String, ArtifactNameAllocator> byExtension =
+                ALLOCATORS.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        ArtifactNameAllocator allocator;
+        try {
+            allocator = byExtension.computeIfAbsent(extension, ext -> {
+                try {
+                    return new ArtifactNameAllocator(key, ext);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return allocator.allocate(baseName);
+    }
+
+    /**
+     * Create a new empty artifact file with the next sequence number for the specified base name.
+     *
+     * @param baseName artifact file base name
+     * @return path of the new artifact file
+     * @throws IOException if an I/O error occurs
+     */
+    private Path allocate(String baseName) throws IOException {
+        AtomicInteger sequence = sequences.computeIfAbsent(baseName, k -> new AtomicInteger());
+        while (true) {
+            int next = sequence.getAndIncrement();
+            String name = (next == 0) ? baseName + suffix : baseName + "-" + next + suffix;
+            try {
+                return Files.createFile(directory.resolve(name));
+            } catch (FileAlreadyExistsException e) {
+                // name taken outside this allocator; try the next one
+            }
+        }
+    }
+
+    /**
+     * Advance the sequence numbers claimed by the existing file with the specified name stem. The stem claims
+     * sequence number 0 of the base name it equals, and (if it ends with {@code -N}) sequence number <i>N</i> of the
+     * base name that precedes the suffix.
+     *
+     * @param stem file name without the extension
+     */
+    private void seed(String stem) {
+        advance(stem, 1);
+        Matcher matcher = SEQUENCED.matcher(stem);
+        if (matcher.matches()) {
+            try {
+                advance(matcher.group(1), Integer.parseInt(matcher.group(2)) + 1);
+            } catch (NumberFormatException e) {
+                // sequence number out of range; not one of ours
+            }
+        }
+    }
+
+    /**
+     * Ensure that the next sequence number for the specified base name is at least the indicated value.
+     *
+     * @param baseName artifact file base name
+     * @param next minimum next sequence number
+     */
+    private void advance(String baseName, int next) {
+        sequences.computeIfAbsent(baseName, k -> new AtomicInteger()).accumulateAndGet(next, Math::max);
+    }
+}
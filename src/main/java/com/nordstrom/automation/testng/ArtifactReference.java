@@ -0,0 +1,137 @@
+package com.nordstrom.automation.testng;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class is a reference to an artifact that's stored as an entry of a per-suite archive. Archive entries are
+ * stored uncompressed, so the content of each artifact occupies a fixed region of the archive file. This enables
+ * random-access read-back of individual artifacts, both while the archive is being written and after it's been closed.
+ * <p>
+ * References to the artifacts captured for a test are retrieved with
+ * {@link ArtifactCollector#retrieveArtifactReferences(ITestResult) ArtifactCollector.retrieveArtifactReferences}.
+ *
+ * @see TestNGConfig.TestNGSettings#ARTIFACT_ARCHIVE
+ */
+public final class ArtifactReference {
+
+    private final Path archivePath;
+    private final String entryName;
+    private final long offset;
+    private final long size;
+
+    /**
+     * Constructor: Create a reference to the specified archive entry.
+     *
+     * @param archivePath path of archive file
+     * @param entryName name of archive entry
+     * @param offset offset of entry content within the archive file
+     * @param size size of entry content in bytes
+     */
+    ArtifactReference(Path archivePath, String entryName, long offset, long size) {
+        this.archivePath = archivePath;
+        this.entryName = entryName;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Get the path of the archive that contains the referenced artifact.
+     *
+     * @return archive file path
+     */
+    public Path getArchivePath() {
+        return archivePath;
+    }
+
+    /**
+     * Get the name of the archive entry that contains the referenced artifact.
+     *
+     * @return archive entry name
+     */
+    public String getEntryName() {
+        return entryName;
+    }
+
+    /**
+     * Get the size of the referenced artifact.
+     *
+     * @return artifact size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Open a channel from which to read the referenced artifact. The caller is responsible for closing the channel.
+     *
+     * @return channel from which to read the artifact
+     * @throws IOException if an I/O error occurs while opening the archive
+     */
+    public ReadableByteChannel open() throws IOException {
+        FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.READ);
+        return new ReadableByteChannel() {
+            private long position = offset;
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                long remaining = offset + size - position;
+                if (remaining <= 0) {
+                    return -1;
+                }
+                ByteBuffer slice = dst.duplicate();
+                slice.limit(slice.position() + (int) Math.min(dst.remaining(), remaining));
+                int count = channel.read(slice, position);
+                if (count > 0) {
+                    dst.position(slice.position());
+                    position += count;
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Read the entire referenced artifact into memory.
+     *
+     * @return byte array containing the artifact
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the artifact is too large for a byte array
+     */
+    public byte[] readBytes() throws IOException {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Artifact is too large to read into memory: " + this);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        try (ReadableByteChannel channel = open()) {
+            while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+                // keep reading
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Get a string representation of this reference, in the form <i>archivePath</i>{@code !/}<i>entryName</i>.
+     *
+     * @return string representation of this reference
+     */
+    @Override
+    public String toString() {
+        return archivePath + "!/" + entryName;
+    }
+}
@@ -0,0 +1,174 @@
+package com.nordstrom.automation.testng;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+/**
+ * This class samples the artifacts that an {@link ArtifactCollector} captures for failed tests. Each failure is
+ * fingerprinted by its <i>signature</i>: the type of the exception that caused it, plus the top
+ * {@link TestNGSettings#ARTIFACT_SAMPLE_FRAMES ARTIFACT_SAMPLE_FRAMES} frames of its stack trace. Artifacts are
+ * captured for the first {@link TestNGSettings#ARTIFACT_SAMPLE_COUNT ARTIFACT_SAMPLE_COUNT} failures with each
+ * signature. Later failures with the same signature aren't captured; instead, they reference the artifacts of the
+ * {@link Sample sample} for their signature.
+ * <p>
+ * A failure claims a sample slot before its artifact is requested. If nothing is captured for it (e.g. - the capture
+ * budget is exhausted, the provider returns no artifact, or the artifact can't be saved), the slot is
+ * {@link #refund(ITestResult) refunded}, so a later failure with the same signature is captured instead. A failure
+ * that occurs while every slot is claimed by a capture in progress references the sample, even if that capture is
+ * refunded later.
+ * <p>
+ * Exception messages aren't part of the signature, because they often contain data that varies from test to test.
+ * Captures for tests that haven't failed (e.g. - on-demand captures) are never sampled.
+ */
+final class ArtifactSampler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactSampler.class);
+
+    private final int sampleCount;
+    private final int frameCount;
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+    private final LongAdder referenced = new LongAdder();
+
+    /**
+     * Constructor: Read the sampling settings from the specified configuration.
+     *
+     * @param config TestNG configuration object
+     */
+    ArtifactSampler(TestNGConfig config) {
+        this.sampleCount = config.getInt(TestNGSettings.ARTIFACT_SAMPLE_COUNT.key());
+        this.frameCount = config.getInt(TestNGSettings.ARTIFACT_SAMPLE_FRAMES.key());
+    }
+
+    /**
+     * Determine if the artifact for the specified test result should be replaced by a reference to the sample for
+     * its failure signature. If not, the capture claims a slot of the sample.
+     *
+     * @param result TestNG test result object
+     * @return sample to reference; {@code null} if the artifact should be captured
+     */
+    Sample getReference(ITestResult result) {
+        if ((sampleCount <= 0) || (result.getThrowable() == null)) {
+            return null;
+        }
+        Sample sample = getSample(signature(result.getThrowable()));
+        int captured;
+        do {
+            captured = sample.captured.get();
+            if (captured >= sampleCount) {
+                referenced.increment();
+                return sample;
+            }
+        } while (! sample.captured.compareAndSet(captured, captured + 1));
+        return null;
+    }
+
+    /**
+     * Return the sample slot claimed by {@link #getReference(ITestResult)} for the specified test result. This is
+     * called when the capture for the result produced no artifact.
+     *
+     * @param result TestNG test result object
+     */
+    void refund(ITestResult result) {
+        Sample sample = getSample(result);
+        if (sample != null) {
+            sample.captured.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the sample to which the artifacts captured for the specified test result belong.
+     *
+     * @param result TestNG test result object
+     * @return sample for the failure signature of the test result; {@code null} if the result wasn't sampled
+     */
+    Sample getSample(ITestResult result) {
+        if ((sampleCount <= 0) || (result.getThrowable() == null)) {
+            return null;
+        }
+        return samples.get(signature(result.getThrowable()));
+    }
+
+    /**
+     * Log a summary of the captures that were replaced by references to samples, if any.
+     *
+     * @param providerName name of the artifact provider
+     */
+    void logSummary(String providerName) {
+        long count = referenced.sum();
+        if (count > 0) {
+            LOGGER.info("{} artifact capture(s) for [{}] referenced samples of {} failure signature(s)", count,
+                    providerName, samples.size());
+        }
+    }
+
+    /**
+     * Get the signature of the specified failure.
+     *
+     * @param thrown exception that caused the failure
+     * @return failure signature
+     */
+    private String signature(Throwable thrown) {
+        StringBuilder signature = new StringBuilder(thrown.getClass().getName());
+        StackTraceElement[] frames = thrown.getStackTrace();
+        for (int i = 0; i < Math.min(frameCount, frames.length); i++) {
+            signature.append("\n\tat ").append(frames[i]);
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Get the sample for the specified failure signature, creating it if needed.
+     *
+     * @param signature failure signature
+     * @return sample for the signature
+     */
+    private Sample getSample(String signature) {
+        Sample sample = samples.get(signature);
+        if (sample == null) {
+            Sample created = new Sample();
+            sample = samples.putIfAbsent(signature, created);
+            if (sample == null) {
+                sample = created;
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * This class holds the artifacts that were captured for a single failure signature.
+     */
+    static final class Sample {
+        private final AtomicInteger captured = new AtomicInteger();
+        private final List<Path> paths = new CopyOnWriteArrayList<>();
+        private final List<ArtifactReference> references = new CopyOnWriteArrayList<>();
+
+        /**
+         * Get the paths of the artifacts in this sample.
+         *
+         * @return list of artifact paths
+         */
+        List<Path> getPaths() {
+            return paths;
+        }
+
+        /**
+         * Get references to the archived artifacts in this sample.
+         *
+         * @return list of archived artifact references
+         */
+        List<ArtifactReference> getReferences() {
+            return references;
+        }
+    }
+}
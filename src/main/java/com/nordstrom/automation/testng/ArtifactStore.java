@@ -0,0 +1,190 @@
+package com.nordstrom.automation.testng;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Consumer;
+
+/**
+ * This class implements the content-addressed artifact layout of {@link ArtifactCollector}. Each distinct artifact is
+ * stored once as a <i>blob</i>, named for the SHA-256 digest of its content, in the {@value #BLOB_DIRECTORY}
+ * subdirectory of the collection directory. The per-test artifact file is replaced by a hard link to this blob, so
+ * tests that capture byte-identical artifacts share a single copy on disk. If the file system doesn't support hard
+ * links, the blob is copied instead.
+ * <p>
+ * Content is digested while it's written to a temporary file, so artifacts are read only once and never held in
+ * memory by this class. Blobs are published with an atomic rename, so concurrent writers of the same content are safe:
+ * if another writer publishes the blob first, the rename may fail (depending on the platform), in which case the
+ * temporary file is discarded and the published blob is used.
+ */
+final class ArtifactStore {
+
+    /** name of the subdirectory that holds artifact blobs */
+    static final String BLOB_DIRECTORY = ".blobs";
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ArtifactStore() {
+        throw new AssertionError("ArtifactStore is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * This interface is implemented by artifact content that can be written to a file.
+     */
+    interface ContentWriter {
+
+        /**
+         * Write this content to the specified file.
+         *
+         * @param target path of file to write
+         * @param digest (optional) digest to update with the bytes written; may be {@code null}
+         * @return number of bytes written
+         * @throws IOException if an I/O error occurs
+         */
+        long writeTo(Path target, MessageDigest digest) throws IOException;
+    }
+
+    /**
+     * Store the specified content as a blob in the indicated collection directory, and link the artifact file to it.
+     *
+     * @param collectionPath path of artifact storage directory
+     * @param extension artifact file extension
+     * @param content artifact content
+     * @param artifactPath path of per-test artifact file (an empty placeholder)
+     * @return number of bytes of content; if 0, the content was empty and the artifact file wasn't linked
+     * @throws IOException if an I/O error occurs
+     */
+    static long store(Path collectionPath, String extension, ContentWriter content, Path artifactPath)
+            throws IOException {
+        Path blobDirectory = Files.createDirectories(collectionPath.resolve(BLOB_DIRECTORY));
+        Path temp = Files.createTempFile(blobDirectory, "blob-", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long size = content.writeTo(temp, digest);
+            if (size == 0) {
+                return 0;
+            }
+            Path blob = blobDirectory.resolve(blobName(digest.digest(), extension));
+            if (Files.notExists(blob)) {
+                publish(temp, blob);
+            }
+            link(artifactPath, blob);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Publish the specified temporary file as the indicated blob. If the blob was published concurrently by another
+     * writer of the same content, the existing blob is retained.
+     *
+     * @param temp path of temporary file that holds the blob content
+     * @param blob path of artifact blob
+     * @throws IOException if an I/O error occurs
+     */
+    private static void publish(Path temp, Path blob) throws IOException {
+        try {
+            Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | AccessDeniedException e) {
+            // target exists (or is being replaced) on platforms that don't allow atomic replacement
+            if (Files.notExists(blob)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Get a channel that updates the specified digest with the bytes read from the indicated channel.
+     *
+     * @param channel source channel
+     * @param digest digest update function (e.g. - {@link MessageDigest#update(ByteBuffer)})
+     * @return digesting channel
+     */
+    static ReadableByteChannel digesting(ReadableByteChannel channel, Consumer<ByteBuffer> digest) {
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                int start = dst.position();
+                int count = channel.read(dst);
+                if (count > 0) {
+                    ByteBuffer view = dst.duplicate();
+                    view.limit(dst.position());
+                    view.position(start);
+                    digest.accept(view);
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Replace the specified artifact file with a hard link to the indicated blob, or with a copy if links are
+     * unsupported.
+     *
+     * @param artifactPath path of per-test artifact file (an empty placeholder)
+     * @param blob path of artifact blob
+     * @throws IOException if an I/O error occurs
+     */
+    private static void link(Path artifactPath, Path blob) throws IOException {
+        Files.deleteIfExists(artifactPath);
+        try {
+            Files.createLink(artifactPath, blob);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(blob, artifactPath);
+        }
+    }
+
+    /**
+     * Get the blob file name for the specified digest.
+     *
+     * @param digest content digest
+     * @param extension artifact file extension
+     * @return blob file name
+     */
+    private static String blobName(byte[] digest, String extension) {
+        StringBuilder name = new StringBuilder(digest.length * 2 + extension.length() + 1);
+        for (byte b : digest) {
+            name.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+        if ( ! extension.isEmpty()) {
+            name.append('.').append(extension);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Create a new content digest.
+     *
+     * @return SHA-256 message digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.nordstrom.automation.testng;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class executes the artifact write tasks of an {@link ArtifactCollector} on a dedicated background thread.
+ * Tasks are executed in submission order from a bounded queue; when the queue is full, submitting threads block until
+ * the writer catches up.
+ * <ul>
+ *     <li>{@link #flush()} waits until every task submitted before it has completed.</li>
+ *     <li>{@link #close()} completes all queued tasks and stops the writer thread. Tasks submitted after the writer is
+ *     closed are executed on the submitting thread.</li>
+ * </ul>
+ *
+ * The writer thread is a daemon, so an unclosed writer never prevents the JVM from exiting.
+ */
+final class ArtifactWriter {
+
+    private static final Runnable STOP = () -> { };
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactWriter.class);
+
+    private final BlockingQueue<Runnable> queue;
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Constructor: Start a writer with the specified queue capacity.
+     *
+     * @param capacity maximum number of pending write tasks
+     * @throws IllegalArgumentException if [capacity] is less than 1
+     */
+    ArtifactWriter(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive; was: " + capacity);
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "testng-artifact-writer-" + INSTANCE_COUNT.incrementAndGet());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Submit the specified write task, blocking while the queue is full.
+     *
+     * @param task write task
+     * @throws InterruptedException if interrupted while waiting for queue capacity
+     */
+    void submit(Runnable task) throws InterruptedException {
+        closeLock.readLock().lock();
+        try {
+            if ( ! closed) {
+                queue.put(task);
+                return;
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        execute(task);
+    }
+
+    /**
+     * Wait until every task submitted before this call has completed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void flush() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        submit(latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Complete all queued tasks and stop the writer thread. This method is idempotent.
+     *
+     * @throws InterruptedException if interrupted while waiting for queued tasks to complete
+     */
+    void close() throws InterruptedException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.put(STOP);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        writer.join();
+    }
+
+    /**
+     * Determine if this writer has been closed.
+     *
+     * @return {@code true} if this writer has been closed; otherwise {@code false}
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Execute queued tasks until the {@code STOP} marker is reached.
+     */
+    private void drain() {
+        try {
+            for (Runnable task = queue.take(); task != STOP; task = queue.take()) {
+                execute(task);
+            }
+        } catch (InterruptedException e) {
+            LOGGER.warn("Artifact writer interrupted; pending artifacts were discarded", e);
+        }
+    }
+
+    /**
+     * Execute the specified task, logging any exception it throws.
+     *
+     * @param task write task
+     */
+    private static void execute(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Artifact write task failed", e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.nordstrom.automation.testng;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+/**
+ * This class is a random-access view of a contiguous range of the Cartesian product of the parameter sets of a
+ * collection of data providers. Instances are created by {@link DataProviders#createProduct(Object...)}.
+ * <p>
+ * Combinations are ordered with the parameter sets of the last data provider varying fastest. Each combination is
+ * computed on demand from its index, so the product is never materialized:
+ * <ul>
+ *     <li>{@link #size()} returns the number of combinations in this view.</li>
+ *     <li>{@link #get(long)} returns the combination at the specified index.</li>
+ *     <li>{@link #split(int)} divides this view into disjoint shards of nearly equal size.</li>
+ *     <li>{@link #forCurrentShard()} selects the shard indicated by the {@link TestNGSettings#SHARD_INDEX
+ *     SHARD_INDEX} and {@link TestNGSettings#SHARD_COUNT SHARD_COUNT} settings.</li>
+ *     <li>{@link #iterator()} iterates over the combinations in this view, for use as a TestNG data provider.</li>
+ * </ul>
+ * 
+ * For example, the following data provider runs one shard of a large matrix on each of several CI nodes, which are
+ * launched with {@code -Dtestng.shard.index=N -Dtestng.shard.count=K}:
+ * 
+ * <blockquote><pre>
+ * &#64;DataProvider(name = "matrix")
+ * public Iterator&lt;Object[]&gt; matrix() {
+ *     return DataProviders.createProduct(browsers, locales, accounts).forCurrentShard().iterator();
+ * }</pre></blockquote>
+ */
+public final class CartesianProduct implements Iterable<Object[]> {
+    
+    private final Object[][][] dimensions;
+    private final long start;
+    private final long size;
+    
+    /**
+     * Constructor: Create a view of the entire product of the specified dimensions.
+     * 
+     * @param dimensions parameter sets of the data providers to be combined
+     */
+    CartesianProduct(Object[][][] dimensions) {
+        this(dimensions, 0, totalSize(dimensions));
+    }
+    
+    /**
+     * Constructor: Create a view of the specified range of the product of the indicated dimensions.
+     * 
+     * @param dimensions parameter sets of the data providers to be combined
+     * @param start index of the first combination in this view
+     * @param size number of combinations in this view
+     */
+    private CartesianProduct(Object[][][] dimensions, long start, long size) {
+        this.dimensions = dimensions;
+        this.start = start;
+        this.size = size;
+    }
+    
+    /**
+     * Get the number of combinations in this view.
+     * <p>
+     * <b>NOTE</b>: The size of a product with more than {@link Long#MAX_VALUE} combinations is reported as
+     * {@link Long#MAX_VALUE}, and only this many combinations are accessible.
+     * 
+     * @return combination count
+     */
+    public long size() {
+        return size;
+    }
+    
+    /**
+     * Get the combination at the specified index of this view.
+     * 
+     * @param index combination index
+     * @return flattened array of combination parameters
+     * @throws IndexOutOfBoundsException if the index is outside the range of this view
+     */
+    public Object[] get(long index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return flatten(decode(start + index));
+    }
+    
+    /**
+     * Split this view into the specified number of disjoint shards. The shards are contiguous ranges of this view,
+     * and their sizes differ by at most one.
+     * 
+     * @param count number of shards
+     * @return list of shards, in order
+     * @throws IllegalArgumentException if the shard count is less than 1
+     */
+    public List<CartesianProduct> split(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be positive; was: " + count);
+        }
+        List<CartesianProduct> shards = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            shards.add(getShard(index, count));
+        }
+        return shards;
+    }
+    
+    /**
+     * Get the specified shard of this view.
+     * 
+     * @param index shard index
+     * @param count number of shards
+     * @return specified shard of this view
+     * @throws IllegalArgumentException if the shard count is less than 1 or the shard index is out of range
+     */
+    public CartesianProduct getShard(int index, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be positive; was: " + count);
+        }
+        if ((index < 0) || (index >= count)) {
+            throw new IllegalArgumentException("Shard index must be in [0, " + count + "); was: " + index);
+        }
+        long base = size / count;
+        long extra = size % count;
+        long offset = (base * index) + Math.min(index, extra);
+        return new CartesianProduct(dimensions, start + offset, base + ((index < extra) ? 1 : 0));
+    }
+    
+    /**
+     * Get the shard of this view indicated by the {@link TestNGSettings#SHARD_INDEX SHARD_INDEX} and
+     * {@link TestNGSettings#SHARD_COUNT SHARD_COUNT} settings.
+     * 
+     * @return shard of this view for the current node (the entire view by default)
+     * @throws IllegalArgumentException if the configured shard count or shard index is invalid
+     */
+    public CartesianProduct forCurrentShard() {
+        TestNGConfig config = TestNGConfig.getConfig();
+        int index = config.getInt(TestNGSettings.SHARD_INDEX.key());
+        int count = config.getInt(TestNGSettings.SHARD_COUNT.key());
+        return getShard(index, count);
+    }
+    
+    /**
+     * Get an iterator over the combinations in this view.
+     * 
+     * @return iterator over flattened arrays of combination parameters
+     */
+    @Override
+    public Iterator<Object[]> iterator() {
+        return new CartesianIterator();
+    }
+    
+    /**
+     * Decode the specified combination index into an array of parameter set indices.
+     * 
+     * @param index combination index within the full product
+     * @return array of parameter set indices, one per dimension
+     */
+    private int[] decode(long index) {
+        int[] indices = new int[dimensions.length];
+        long remainder = index;
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            int radix = dimensions[i].length;
+            indices[i] = (int) (remainder % radix);
+            remainder /= radix;
+        }
+        return indices;
+    }
+    
+    /**
+     * Flatten the parameter sets selected by the specified indices into a single array.
+     * 
+     * @param indices array of parameter set indices, one per dimension
+     * @return flattened array of combination parameters
+     */
+    private Object[] flatten(int[] indices) {
+        return flatten(dimensions, indices);
+    }
+    
+    /**
+     * Flatten the parameter sets selected by the specified indices into a single array.
+     * 
+     * @param dimensions parameter sets of the data providers to be combined
+     * @param indices array of parameter set indices, one per dimension
+     * @return flattened array of combination parameters
+     */
+    static Object[] flatten(Object[][][] dimensions, int[] indices) {
+        int length = 0;
+        for (int i = 0; i < dimensions.length; i++) {
+            length += dimensions[i][indices[i]].length;
+        }
+        Object[] combination = new Object[length];
+        int offset = 0;
+        for (int i = 0; i < dimensions.length; i++) {
+            Object[] thisItem = dimensions[i][indices[i]];
+            System.arraycopy(thisItem, 0, combination, offset, thisItem.length);
+            offset += thisItem.length;
+        }
+        return combination;
+    }
+    
+    /**
+     * Get the total number of combinations in the product of the specified dimensions.
+     * 
+     * @param dimensions parameter sets of the data providers to be combined
+     * @return combination count; {@link Long#MAX_VALUE} if the actual count exceeds this value
+     */
+    private static long totalSize(Object[][][] dimensions) {
+        long total = 1;
+        for (Object[][] dimension : dimensions) {
+            if (dimension.length == 0) {
+                return 0;
+            }
+            if (total > Long.MAX_VALUE / dimension.length) {
+                total = Long.MAX_VALUE;
+            } else {
+                total *= dimension.length;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * This class iterates over the combinations in this view. Combinations are produced by an odometer-style array of
+     * parameter set indices, so the only object allocated for each combination is the flattened output array.
+     */
+    private class CartesianIterator implements Iterator<Object[]> {
+        
+        private final int[] indices;
+        private long remaining;
+        
+        /**
+         * Constructor: Position the odometer at the first combination in this view.
+         */
+        CartesianIterator() {
+            remaining = size;
+            indices = (size > 0) ? decode(start) : null;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+        
+        @Override
+        public Object[] next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            Object[] combination = flatten(indices);
+            if (--remaining > 0) {
+                // advance odometer
+                for (int i = dimensions.length - 1; i >= 0; i--) {
+                    if (++indices[i] < dimensions[i].length) {
+                        break;
+                    }
+                    indices[i] = 0;
+                }
+            }
+            return combination;
+        }
+    }
+}
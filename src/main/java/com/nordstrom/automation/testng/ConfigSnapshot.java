@@ -0,0 +1,224 @@
+package com.nordstrom.automation.testng;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+/**
+ * This class is an immutable snapshot of the {@link TestNGConfig} settings that are read on the hot paths of
+ * <b>TestNG Foundation</b>. The values of these settings are parsed once when the snapshot is created, so reading
+ * them is a field access:
+ * <ul>
+ *     <li>{@link TestNGSettings#TEST_TIMEOUT TEST_TIMEOUT} - {@link #getTestTimeout()}</li>
+ *     <li>{@link TestNGSettings#MAX_RETRY MAX_RETRY} - {@link #getMaxRetry()}</li>
+ *     <li>{@link TestNGSettings#RETRY_ANALYZER RETRY_ANALYZER} - {@link #getRetryAnalyzerClass()}</li>
+ *     <li>{@link TestNGSettings#RETRY_MORE_INFO RETRY_MORE_INFO} - {@link #isRetryMoreInfo()}</li>
+ *     <li>{@link TestNGSettings#INVOCATION_KEY INVOCATION_KEY} - {@link #getInvocationKeyStrategy()}</li>
+ * </ul>
+ *
+ * The current snapshot is obtained from {@link TestNGConfig#getSnapshot()}. Snapshots with overridden values are
+ * created by {@link #withOverrides(Map)}, and can be layered on top of the shared snapshot for the current thread or
+ * for a specific suite.
+ */
+public final class ConfigSnapshot {
+
+    private static final TestNGSettings[] SNAPSHOT_SETTINGS = { TestNGSettings.TEST_TIMEOUT,
+            TestNGSettings.MAX_RETRY, TestNGSettings.RETRY_ANALYZER, TestNGSettings.RETRY_MORE_INFO,
+            TestNGSettings.INVOCATION_KEY };
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    private final Map<TestNGSettings, String> values;
+    private final long testTimeout;
+    private final int maxRetry;
+    private final Class<IRetryAnalyzer> retryAnalyzerClass;
+    private final boolean retryMoreInfo;
+    private final InvocationKeyStrategy invocationKeyStrategy;
+
+    /**
+     * Constructor: Capture the snapshot settings of the specified configuration.
+     *
+     * @param config TestNG configuration object
+     */
+    ConfigSnapshot(TestNGConfig config) {
+        this(readValues(config));
+    }
+
+    /**
+     * Constructor: Parse the specified setting values.
+     *
+     * @param values map of snapshot settings to their string values
+     */
+    private ConfigSnapshot(Map<TestNGSettings, String> values) {
+        this.values = values;
+        this.testTimeout = parseLong(TestNGSettings.TEST_TIMEOUT, -1);
+        this.maxRetry = (int) parseLong(TestNGSettings.MAX_RETRY, 0);
+        this.retryAnalyzerClass = (maxRetry > 0) ? resolveRetryAnalyzer(values.get(TestNGSettings.RETRY_ANALYZER))
+                : null;
+        this.retryMoreInfo = Boolean.parseBoolean(values.get(TestNGSettings.RETRY_MORE_INFO));
+        this.invocationKeyStrategy = resolveKeyStrategy(values.get(TestNGSettings.INVOCATION_KEY));
+    }
+
+    /**
+     * Create a snapshot with the specified overrides layered on top of this one.
+     *
+     * @param overrides map of settings to their overriding values; settings not included in the snapshot are ignored
+     * @return new snapshot with the specified overrides
+     */
+    public ConfigSnapshot withOverrides(Map<TestNGSettings, String> overrides) {
+        Map<TestNGSettings, String> layered = new EnumMap<>(values);
+        for (TestNGSettings setting : SNAPSHOT_SETTINGS) {
+            if (overrides.containsKey(setting)) {
+                layered.put(setting, overrides.get(setting));
+            }
+        }
+        return new ConfigSnapshot(layered);
+    }
+
+    /**
+     * Determine if a default test timeout is defined.
+     *
+     * @return {@code true} if {@link TestNGSettings#TEST_TIMEOUT TEST_TIMEOUT} is defined; otherwise {@code false}
+     */
+    public boolean hasTestTimeout() {
+        return testTimeout >= 0;
+    }
+
+    /**
+     * Get the default test timeout.
+     *
+     * @return default test timeout in milliseconds; -1 if undefined
+     */
+    public long getTestTimeout() {
+        return testTimeout;
+    }
+
+    /**
+     * Get the maximum number of times a failed method will be retried.
+     *
+     * @return maximum retry count
+     */
+    public int getMaxRetry() {
+        return maxRetry;
+    }
+
+    /**
+     * Get the default retry analyzer class.
+     *
+     * @return retry analyzer class; {@code null} if retry is disabled or the specified class is invalid
+     */
+    public Class<IRetryAnalyzer> getRetryAnalyzerClass() {
+        return retryAnalyzerClass;
+    }
+
+    /**
+     * Determine if the exception that caused a test to fail is logged in retry notifications.
+     *
+     * @return {@code true} if exceptions are logged; otherwise {@code false}
+     */
+    public boolean isRetryMoreInfo() {
+        return retryMoreInfo;
+    }
+
+    /**
+     * Get the strategy used by {@link RetryManager} to identify failed invocations. Custom strategies are
+     * instantiated once per snapshot.
+     *
+     * @return invocation key strategy; {@link StandardKeyStrategy#RECORD RECORD} if the specified strategy is invalid
+     */
+    public InvocationKeyStrategy getInvocationKeyStrategy() {
+        return invocationKeyStrategy;
+    }
+
+    /**
+     * Read the string values of the snapshot settings from the specified configuration.
+     *
+     * @param config TestNG configuration object
+     * @return map of snapshot settings to their string values
+     */
+    private static Map<TestNGSettings, String> readValues(TestNGConfig config) {
+        Map<TestNGSettings, String> values = new EnumMap<>(TestNGSettings.class);
+        for (TestNGSettings setting : SNAPSHOT_SETTINGS) {
+            values.put(setting, config.getString(setting.key()));
+        }
+        return values;
+    }
+
+    /**
+     * Parse the value of the specified setting as a {@code long}.
+     *
+     * @param setting setting to parse
+     * @param defaultValue value to return if the setting is undefined or invalid
+     * @return parsed setting value
+     */
+    private long parseLong(TestNGSettings setting, long defaultValue) {
+        String value = values.get(setting);
+        if ((value == null) || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Value of setting [{}] is not a valid integer: {}", setting.key(), value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Resolve the specified retry analyzer class name.
+     *
+     * @param retryAnalyzerName fully-qualified name of retry analyzer class
+     * @return retry analyzer class; {@code null} if the specified class is invalid
+     */
+    @SuppressWarnings("unchecked")
+    static Class<IRetryAnalyzer> resolveRetryAnalyzer(String retryAnalyzerName) {
+        if ((retryAnalyzerName == null) || retryAnalyzerName.isEmpty()) {
+            LOGGER.warn("Value of setting [{}] is undefined", TestNGSettings.RETRY_ANALYZER.key());
+            return null;
+        }
+        try {
+            Class<?> retryAnalyzerClass = Class.forName(retryAnalyzerName);
+            if (IRetryAnalyzer.class.isAssignableFrom(retryAnalyzerClass)) {
+                return (Class<IRetryAnalyzer>) retryAnalyzerClass;
+            }
+            LOGGER.warn("Specified retry analyzer '{}' does not implement IRetryAnalyzer", retryAnalyzerName);
+        } catch (ClassNotFoundException e) {
+            LOGGER.warn("Specified retry analyzer class '{}' not found", retryAnalyzerName);
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the specified invocation key strategy.
+     *
+     * @param strategyName name of {@link StandardKeyStrategy standard strategy} or fully-qualified name of class that
+     *                     implements {@link InvocationKeyStrategy}
+     * @return invocation key strategy; {@link StandardKeyStrategy#RECORD RECORD} if the specified strategy is invalid
+     */
+    static InvocationKeyStrategy resolveKeyStrategy(String strategyName) {
+        if ((strategyName == null) || strategyName.isEmpty()) {
+            return StandardKeyStrategy.RECORD;
+        }
+        for (StandardKeyStrategy strategy : StandardKeyStrategy.values()) {
+            if (strategy.name().equalsIgnoreCase(strategyName)) {
+                return strategy;
+            }
+        }
+        try {
+            return Class.forName(strategyName).asSubclass(InvocationKeyStrategy.class).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException e) {
+            LOGGER.warn("Specified invocation key strategy class '{}' not found", strategyName);
+        } catch (ClassCastException e) {
+            LOGGER.warn("Specified invocation key strategy '{}' does not implement InvocationKeyStrategy",
+                    strategyName);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Unable to instantiate invocation key strategy '{}'", strategyName, e);
+        }
+        return StandardKeyStrategy.RECORD;
+    }
+}
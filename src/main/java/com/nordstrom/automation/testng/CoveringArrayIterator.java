@@ -0,0 +1,292 @@
+package com.nordstrom.automation.testng;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * This class iterates over a t-wise covering array of the parameter sets of a collection of data providers. For every
+ * choice of <i>t</i> data providers (the <i>strength</i>), every combination of their parameter sets appears in at
+ * least one of the emitted combinations. Instances are created by
+ * {@link DataProviders#createCoveringIterator(int, long, Object...)}.
+ * <p>
+ * Combinations are generated on demand by a greedy algorithm in the style of AETG:
+ * <ul>
+ *     <li>The set of uncovered t-wise interactions is tracked in a single bit set.</li>
+ *     <li>Each candidate combination is seeded with an uncovered interaction. The remaining data providers are then
+ *     visited in random order, choosing the parameter set that covers the most uncovered interactions with the data
+ *     providers chosen so far.</li>
+ *     <li>The candidate that covers the most uncovered interactions is emitted.</li>
+ * </ul>
+ *
+ * All random choices are drawn from a generator with the specified seed, so the emitted combinations are
+ * deterministic for a given seed and input.
+ */
+final class CoveringArrayIterator implements Iterator<Object[]> {
+
+    private static final int CANDIDATES = 20;
+
+    private final Object[][][] dimensions;
+    private final int[][] subsets;
+    private final int[][] strides;
+    private final int[] offsets;
+    private final int[][] subsetsByDimension;
+    private final BitSet uncovered;
+    private final Random random;
+    private int uncoveredCount;
+
+    /**
+     * Constructor: Initialize the uncovered interactions of the specified dimensions.
+     *
+     * @param dimensions parameter sets of the data providers to be combined
+     * @param strength covering strength; must be less than the number of dimensions
+     * @param seed seed for random choices
+     * @throws IllegalArgumentException if the number of t-wise interactions exceeds {@link Integer#MAX_VALUE}
+     */
+    CoveringArrayIterator(Object[][][] dimensions, int strength, long seed) {
+        this.dimensions = dimensions;
+        this.random = new Random(seed);
+
+        List<int[]> subsetList = new ArrayList<>();
+        collectSubsets(new int[strength], 0, 0, subsetList);
+        subsets = subsetList.toArray(new int[0][]);
+        strides = new int[subsets.length][];
+        offsets = new int[subsets.length];
+
+        int total = 0;
+        try {
+            for (int s = 0; s < subsets.length; s++) {
+                offsets[s] = total;
+                strides[s] = new int[strength];
+                int size = 1;
+                for (int j = strength - 1; j >= 0; j--) {
+                    strides[s][j] = size;
+                    size = Math.multiplyExact(size, dimensions[subsets[s][j]].length);
+                }
+                total = Math.addExact(total, size);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too many " + strength + "-wise interactions to cover", e);
+        }
+
+        List<List<Integer>> byDimension = new ArrayList<>();
+        for (int d = 0; d < dimensions.length; d++) {
+            byDimension.add(new ArrayList<>());
+        }
+        for (int s = 0; s < subsets.length; s++) {
+            for (int d : subsets[s]) {
+                byDimension.get(d).add(s);
+            }
+        }
+        subsetsByDimension = new int[dimensions.length][];
+        for (int d = 0; d < dimensions.length; d++) {
+            subsetsByDimension[d] = byDimension.get(d).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        uncovered = new BitSet(total);
+        uncovered.set(0, total);
+        uncoveredCount = total;
+        // no combinations exist if any dimension is empty
+        for (Object[][] dimension : dimensions) {
+            if (dimension.length == 0) {
+                uncoveredCount = 0;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return uncoveredCount > 0;
+    }
+
+    @Override
+    public Object[] next() {
+        if (uncoveredCount == 0) {
+            throw new NoSuchElementException();
+        }
+        int[] best = null;
+        int bestGain = -1;
+        for (int c = 0; c < CANDIDATES; c++) {
+            int[] candidate = buildCandidate();
+            int gain = countUncovered(candidate);
+            if (gain > bestGain) {
+                best = candidate;
+                bestGain = gain;
+            }
+        }
+        markCovered(best);
+        return CartesianProduct.flatten(dimensions, best);
+    }
+
+    /**
+     * Build a candidate combination, seeded with a randomly chosen uncovered interaction.
+     *
+     * @return array of parameter set indices, one per dimension
+     */
+    private int[] buildCandidate() {
+        int[] row = new int[dimensions.length];
+        Arrays.fill(row, -1);
+
+        // seed candidate with an uncovered interaction
+        int bit = uncovered.nextSetBit(random.nextInt(uncovered.length()));
+        if (bit < 0) {
+            bit = uncovered.nextSetBit(0);
+        }
+        int s = Arrays.binarySearch(offsets, bit);
+        if (s < 0) {
+            s = -s - 2;
+        }
+        // skip past empty interaction spaces that share this offset
+        while ((s + 1 < offsets.length) && (offsets[s + 1] <= bit)) {
+            s++;
+        }
+        int remainder = bit - offsets[s];
+        for (int j = 0; j < subsets[s].length; j++) {
+            row[subsets[s][j]] = remainder / strides[s][j];
+            remainder %= strides[s][j];
+        }
+
+        // fill remaining dimensions in random order
+        for (int d : shuffledDimensions()) {
+            if (row[d] < 0) {
+                row[d] = chooseValue(row, d);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Choose the parameter set of the specified dimension that covers the most uncovered interactions with the
+     * dimensions that are already chosen. Ties are broken at random.
+     *
+     * @param row partial combination (unchosen dimensions are -1)
+     * @param d index of dimension to choose
+     * @return index of chosen parameter set
+     */
+    private int chooseValue(int[] row, int d) {
+        int bestValue = 0;
+        int bestGain = -1;
+        int ties = 0;
+        for (int v = 0; v < dimensions[d].length; v++) {
+            row[d] = v;
+            int gain = 0;
+            for (int s : subsetsByDimension[d]) {
+                if (isChosen(row, s) && uncovered.get(tupleIndex(row, s))) {
+                    gain++;
+                }
+            }
+            if (gain > bestGain) {
+                bestValue = v;
+                bestGain = gain;
+                ties = 1;
+            } else if ((gain == bestGain) && (random.nextInt(++ties) == 0)) {
+                bestValue = v;
+            }
+        }
+        return bestValue;
+    }
+
+    /**
+     * Get the dimension indices in random order.
+     *
+     * @return shuffled array of dimension indices
+     */
+    private int[] shuffledDimensions() {
+        int[] order = new int[dimensions.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Count the uncovered interactions in the specified combination.
+     *
+     * @param row array of parameter set indices, one per dimension
+     * @return number of uncovered interactions
+     */
+    private int countUncovered(int[] row) {
+        int count = 0;
+        for (int s = 0; s < subsets.length; s++) {
+            if (uncovered.get(tupleIndex(row, s))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Mark the interactions in the specified combination as covered.
+     *
+     * @param row array of parameter set indices, one per dimension
+     */
+    private void markCovered(int[] row) {
+        for (int s = 0; s < subsets.length; s++) {
+            int index = tupleIndex(row, s);
+            if (uncovered.get(index)) {
+                uncovered.clear(index);
+                uncoveredCount--;
+            }
+        }
+    }
+
+    /**
+     * Determine if all dimensions of the specified subset are chosen in the indicated combination.
+     *
+     * @param row partial combination (unchosen dimensions are -1)
+     * @param s subset index
+     * @return {@code true} if all dimensions of the subset are chosen; otherwise {@code false}
+     */
+    private boolean isChosen(int[] row, int s) {
+        for (int d : subsets[s]) {
+            if (row[d] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the bit index of the interaction of the specified subset in the indicated combination.
+     *
+     * @param row array of parameter set indices, one per dimension
+     * @param s subset index
+     * @return bit index of the interaction
+     */
+    private int tupleIndex(int[] row, int s) {
+        int index = offsets[s];
+        for (int j = 0; j < subsets[s].length; j++) {
+            index += row[subsets[s][j]] * strides[s][j];
+        }
+        return index;
+    }
+
+    /**
+     * Collect all subsets of the dimension indices with the size of the specified array.
+     *
+     * @param subset working array for the current subset
+     * @param position position within the working array to fill
+     * @param first first dimension index eligible for this position
+     * @param subsetList list to which completed subsets are added
+     */
+    private void collectSubsets(int[] subset, int position, int first, List<int[]> subsetList) {
+        if (position == subset.length) {
+            subsetList.add(subset.clone());
+            return;
+        }
+        for (int d = first; d <= dimensions.length - (subset.length - position); d++) {
+            subset[position] = d;
+            collectSubsets(subset, position + 1, d + 1, subsetList);
+        }
+    }
+}
@@ -1,14 +1,12 @@
 package com.nordstrom.automation.testng;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Function;
 
 /**
  * This class is meant for utility methods to assist in creating DataProviders
@@ -36,33 +34,188 @@ public class DataProviders {
 	 * @see #unflatten
 	 */
 	public static Iterator<Object[]> createIterator(Object... providers) {
-		List<Set<Object[]>> setList = new ArrayList<>();
+		return createProduct(providers).iterator();
+	}
+
+	/**
+	 * Returns a random-access view of the Cartesian product of the parameter
+	 * sets from the specified data provider parameter objects. The supported
+	 * argument types are the same as those of {@link #createIterator}. The
+	 * returned product supports indexed access to individual combinations and
+	 * can be split into disjoint shards, which enables a large matrix to be
+	 * distributed across threads or CI nodes without enumerating all of it.
+	 * 
+	 * @param providers
+	 *            data provider parameter objects to be combined
+	 * @return Cartesian product of all parameter set combinations
+	 * @see CartesianProduct
+	 */
+	public static CartesianProduct createProduct(Object... providers) {
+		return new CartesianProduct(toDimensions(providers));
+	}
+
+	/**
+	 * Returns an iterator over a t-wise covering set of the parameter sets
+	 * from the specified data provider parameter objects. The supported
+	 * argument types are the same as those of {@link #createIterator}. For
+	 * every choice of {@code strength} data providers, every combination of
+	 * their parameter sets appears in at least one of the emitted
+	 * combinations. This typically requires far fewer invocations than the
+	 * full Cartesian product.
+	 * <p>
+	 * Combinations are generated on demand by a greedy algorithm, and the
+	 * specified seed makes the output deterministic. If the strength is equal
+	 * to or greater than the number of data providers, the full Cartesian
+	 * product is produced.
+	 * 
+	 * @param strength
+	 *            covering strength (2 for pairwise coverage)
+	 * @param seed
+	 *            seed for tie-breaking and candidate selection
+	 * @param providers
+	 *            data provider parameter objects to be combined
+	 * @return an iterator over a collection of parameter set combinations
+	 *         that covers all t-wise interactions
+	 * @see CoveringArrayIterator
+	 */
+	public static Iterator<Object[]> createCoveringIterator(int strength, long seed, Object... providers) {
+		if (strength < 1) {
+			throw new IllegalArgumentException("Covering strength must be positive; was: " + strength);
+		}
+		Object[][][] dimensions = toDimensions(providers);
+		if (strength >= dimensions.length) {
+			return new CartesianProduct(dimensions).iterator();
+		}
+		return new CoveringArrayIterator(dimensions, strength, seed);
+	}
+
+	/**
+	 * Returns an iterator over a pairwise covering set of the parameter sets
+	 * from the specified data provider parameter objects. This is equivalent
+	 * to {@link #createCoveringIterator createCoveringIterator(2, 0, providers)}.
+	 * 
+	 * @param providers
+	 *            data provider parameter objects to be combined
+	 * @return an iterator over a collection of parameter set combinations
+	 *         that covers all pairwise interactions
+	 */
+	public static Iterator<Object[]> createPairwiseIterator(Object... providers) {
+		return createCoveringIterator(2, 0, providers);
+	}
+
+	/**
+	 * Returns an iterator that prefetches parameter sets from the specified
+	 * data provider iterator on a background thread. This enables test methods
+	 * to start on the first parameter set while the source iterator is still
+	 * producing later ones, which is useful for sources that read files or
+	 * build heavy fixture objects. Parameter sets are returned in source order,
+	 * and exceptions thrown by the source are rethrown by the returned iterator
+	 * at the position where they occurred.
+	 * 
+	 * @param source
+	 *            data provider iterator
+	 * @param depth
+	 *            maximum number of parameter sets to prefetch
+	 * @return prefetching iterator over the parameter sets of [source]
+	 * @see PrefetchIterator
+	 */
+	public static PrefetchIterator<Object[]> createPrefetchIterator(Iterator<Object[]> source, int depth) {
+		return new PrefetchIterator<>(source, Function.identity(), depth, 1);
+	}
+
+	/**
+	 * Returns an iterator that builds parameter sets from the items of the
+	 * specified source iterator on background threads. The source is consumed
+	 * in order by a single producer thread, and parameter sets are built
+	 * concurrently by a pool of [parallelism] threads. Parameter sets are
+	 * returned in source order, and exceptions thrown by either the source or
+	 * the row builder are rethrown by the returned iterator at the position
+	 * where they occurred.
+	 * 
+	 * @param <T>
+	 *            source item type
+	 * @param source
+	 *            iterator over source items
+	 * @param rowBuilder
+	 *            function that builds a parameter set from a source item
+	 * @param depth
+	 *            maximum number of parameter sets to prefetch
+	 * @param parallelism
+	 *            number of threads that build parameter sets
+	 * @return prefetching iterator over the parameter sets built from [source]
+	 * @see PrefetchIterator
+	 */
+	public static <T> PrefetchIterator<T> createPrefetchIterator(Iterator<T> source,
+			Function<? super T, Object[]> rowBuilder, int depth, int parallelism) {
+		return new PrefetchIterator<>(source, rowBuilder, depth, parallelism);
+	}
+
+	/**
+	 * Extract the parameter sets from the specified data provider parameter
+	 * objects.
+	 * 
+	 * @param providers
+	 *            data provider parameter objects
+	 * @return array of parameter sets, one per data provider
+	 */
+	private static Object[][][] toDimensions(Object... providers) {
+		Object[][][] dimensions = new Object[providers.length][][];
 		// iterate over input arguments
-		for (Object thisObj : providers) {
+		for (int i = 0; i < providers.length; i++) {
+			Object thisObj = providers[i];
 			// if this is an iterator
 			if (thisObj instanceof Iterator) {
-				// extract iterator contents into a set
-				Set<Object[]> thisSet = new HashSet<>();
-				while (((Iterator<?>) thisObj).hasNext()) {
-					thisSet.add((Object[]) ((Iterator<?>) thisObj).next());
-				}
-				// add set to list
-				setList.add(thisSet);
+				// extract distinct iterator contents
+				dimensions[i] = distinctRows((Iterator<?>) thisObj);
 			// otherwise, if this is an array of array of object
 			} else if (thisObj instanceof Object[][]) {
-				// add to list as set of array of object
-				setList.add(newHashSet((Object[][]) thisObj));
+				// get distinct array of object
+				dimensions[i] = distinctRows((Object[][]) thisObj);
 			// otherwise, if this is an array of object
 			} else if (thisObj instanceof Object[]) {
-				// add to list as set of array of object
-				setList.add(newHashSet(unflatten((Object[]) thisObj)));
+				// get distinct array of object
+				dimensions[i] = distinctRows(unflatten((Object[]) thisObj));
 			} else {
 				throw new IllegalArgumentException(
 						"Types of all arguments must be Object[][], Iterator<Object[]>, or Object[]");
 			}
 		}
-		// return Cartesian data provider
-		return new CartesianDataProvider(setList);
+		return dimensions;
+	}
+
+	/**
+	 * Removes duplicate parameter sets from the specified data provider rows.
+	 * Rows are compared by value with {@link Arrays#deepEquals}, so rows with
+	 * equal contents are duplicates even if they're distinct arrays. The first
+	 * occurrence of each distinct row is retained, in its original order.
+	 * 
+	 * @param rows
+	 *            data provider parameter sets
+	 * @return distinct parameter sets, in order of first occurrence
+	 */
+	public static Object[][] distinctRows(Object[][] rows) {
+		return distinctRows(Arrays.asList(rows).iterator());
+	}
+
+	/**
+	 * Collects the distinct parameter sets of the specified data provider
+	 * iterator, in order of first occurrence.
+	 * 
+	 * @param rows
+	 *            data provider iterator
+	 * @return distinct parameter sets, in order of first occurrence
+	 */
+	private static Object[][] distinctRows(Iterator<?> rows) {
+		Set<RowKey> rowSet = new LinkedHashSet<>();
+		while (rows.hasNext()) {
+			rowSet.add(new RowKey((Object[]) rows.next()));
+		}
+		Object[][] distinct = new Object[rowSet.size()][];
+		int index = 0;
+		for (RowKey key : rowSet) {
+			distinct[index++] = key.row;
+		}
+		return distinct;
 	}
 
 	/**
@@ -81,72 +234,53 @@ public class DataProviders {
 		return arrayOfArray;
 	}
 
-	private static class CartesianDataProvider implements Iterator<Object[]> {
+	/**
+	 * Creates a hash set that contains the specified items.
+	 * <p>
+	 * <b>NOTE</b>: Arrays use identity-based hashing, so this method doesn't
+	 * remove duplicate {@code Object[]} rows. Use {@link #distinctRows} to
+	 * remove duplicate data provider parameter sets by value.
+	 * 
+	 * @param <T>
+	 *            item type
+	 * @param items
+	 *            items to be added
+	 * @return hash set of the specified items
+	 */
+	public static <T> Set<T> newHashSet(T[] items) {
+		Set<T> newSet = new HashSet<>();
+		Collections.addAll(newSet, items);
+		return newSet;
+	}
 
-		private final Iterator<List<Object[]>> provider;
+	/**
+	 * This class wraps a data provider parameter set, providing value-based
+	 * equality via {@link Arrays#deepEquals} and {@link Arrays#deepHashCode}.
+	 */
+	private static final class RowKey {
+		private final Object[] row;
+		private final int hash;
 
-		CartesianDataProvider(List<Set<Object[]>> setList) {
-			// store iterator over Cartesian product
-			provider = cartesianProduct(setList).iterator();
+		RowKey(Object[] row) {
+			this.row = row;
+			this.hash = Arrays.deepHashCode(row);
 		}
 
 		@Override
-		public boolean hasNext() {
-			return provider.hasNext();
+		public int hashCode() {
+			return hash;
 		}
 
 		@Override
-		public Object[] next() {
-
-			// FLATTEN OBJECT ARRAY LIST
-
-			// Each combination from the original data providers is stored as a
-			// list of object arrays, with each data provider supplying one
-			// object array to the list. The order of object array items within
-			// the list corresponds to the order that the arguments were
-			// specified in the createIterator() call.
-			//
-			// The output of this method is a single array comprising all of the
-			// objects in each combination. To achieve this result, we need to
-			// flatten the list of arrays of objects into a flat object array.
-
-			List<Object> dataList = new ArrayList<>();
-			// iterate over this combination's items
-			for (Object[] thisItem : provider.next()) {
-				// add this item's objects to flat list
-				dataList.addAll(Arrays.asList(thisItem));
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
 			}
-			// return list as array
-			return dataList.toArray();
-		}
-
-		@Override
-		public void remove() {
-			provider.remove();
-		}
-		
-		public <T> List<List<T>> cartesianProduct(List<Set<T>> setList) {
-		    return cartesianProductWorker(setList,0).collect(Collectors.toList());
-		}
-
-		public <T> Stream<List<T>> cartesianProductWorker(List<Set<T>> setList, int index) {
-		    if (index == setList.size()) {
-		        List<T> emptyList = new ArrayList<>();
-		        return Stream.of(emptyList);
-		    }
-		    Set<T> currentSet = setList.get(index);
-		    return currentSet.stream().flatMap(element -> cartesianProductWorker(setList, index+1)
-		      .map(list -> {
-		          List<T> newList = new ArrayList<>(list);
-		          newList.add(0, element);
-		          return newList;
-		      }));
+			if ( ! (obj instanceof RowKey)) {
+				return false;
+			}
+			RowKey that = (RowKey) obj;
+			return (hash == that.hash) && Arrays.deepEquals(row, that.row);
 		}
 	}
-
-	public static <T> Set<T> newHashSet(T[] items) {
-		Set<T> newSet = new HashSet<>();
-		Collections.addAll(newSet, items);
-		return newSet;
-	}
 }
@@ -2,12 +2,22 @@ package com.nordstrom.automation.testng;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import org.testng.IAnnotationTransformer;
+import org.testng.IConfigurationListener;
+import org.testng.IDataProviderListener;
+import org.testng.IDataProviderMethod;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
 import org.testng.IRetryAnalyzer;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.annotations.ITestAnnotation;
 import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
@@ -43,6 +53,15 @@ import static com.nordstrom.automation.testng.VersionUtility.getRetryAnalyzerCla
  * timeout interval is specified (via {@link TestNGSettings#TEST_TIMEOUT TEST_TIMEOUT}) and this interval is longer
  * than the timeout that's already assigned to the test, the configured test timeout interval is assigned.
  * <p>
+ * <b>NOTE</b>: TestNG transforms the annotations of each test method once, before any suite starts, and the
+ * transformed annotations are shared by every suite in the run. Consequently, the timeout and retry analyzer assigned
+ * by {@link #transform(ITestAnnotation, Class, Constructor, Method) transform} are determined by the shared
+ * {@link ConfigSnapshot configuration snapshot}, along with any {@link TestNGConfig#setThreadOverrides(java.util.Map)
+ * thread overrides} of the thread that runs TestNG. {@link TestNGConfig#setSuiteOverrides(String, java.util.Map)
+ * Suite overrides} of {@link TestNGSettings#TEST_TIMEOUT TEST_TIMEOUT} and {@link TestNGSettings#RETRY_ANALYZER
+ * RETRY_ANALYZER} don't apply here. Suite overrides of {@link TestNGSettings#MAX_RETRY MAX_RETRY} do determine the
+ * number of retries granted by {@link RetryManager}, but only for methods to which a retry analyzer was attached.
+ * <p>
  * <b>CONFIGURING AUTOMATIC RETRY</b>
  * <p>
  * Automatic retry of failed tests is configured via two settings and a service loader provider configuration file:
@@ -60,6 +79,14 @@ import static com.nordstrom.automation.testng.VersionUtility.getRetryAnalyzerCla
  * {@code false}. Consequently, no failed tests will be retried. The {@link IRetryAnalyzer} implementations in the
  * classes specified by the configuration file determine whether or not any given failed test is retried.
  * <p>
+ * To avoid retaining the parameters of retried invocations for the duration of the run, <b>ExecutionFlowController</b>
+ * notifies {@link RetryManager} when a test method finishes with any status other than {@code FAILURE} and when a
+ * {@code <test>} context finishes. This enables <b>RetryManager</b> to drop the corresponding entries from its
+ * invocation ledger.
+ * <p>
+ * <b>ExecutionFlowController</b> also closes any {@link PrefetchIterator} created by a data provider of a
+ * {@code <test>} context that's still open when the context finishes, which stops its background threads.
+ * <p>
  * <b>DECLINING AUTOMATIC RETRY SUPPORT</b>
  * <p>
  * Once automatic retry is enabled, {@link RetryManager} will be attached to every method that doesn't already specify
@@ -110,6 +137,20 @@ import static com.nordstrom.automation.testng.VersionUtility.getRetryAnalyzerCla
  *     are propagated to all executed {@code @AfterMethod} configuration methods.</li>
  * </ul>
  * 
+ * The results of executed {@code @BeforeMethod} configuration methods are chained together as they complete, without
+ * copying their attributes. The chain is flattened into the test method result once, just
+ * before the test method is invoked. If several <i>before</i> methods set the same attribute, the value set by the
+ * earliest one is propagated. Attributes are copied directly from result to result, and attributes for which the target
+ * already holds the same value reference are skipped.
+ * <p>
+ * The propagation context of each invocation is held by the worker thread that runs it, and has an explicit
+ * lifecycle: it's created by the first <i>before</i> method (or the test method, if there are none), and it's cleared
+ * as soon as every {@code @AfterMethod} configuration method of the test class has either run or been skipped. If the
+ * test method is skipped without being invoked (e.g. - because a <i>before</i> method failed), the results of its
+ * <i>before</i> methods are dropped when the skip is reported, so they can't leak into the next invocation. The
+ * context is never inherited by threads spawned from the worker thread, so pooled workers don't retain the results of
+ * completed invocations.
+ * 
  * <b>MANAGING OBJECT REFERENCE ATTRIBUTES</b>
  * <p>
  * This attribute propagation feature provides an easy way for tests to maintain context-specific values. For any
@@ -155,10 +196,10 @@ import static com.nordstrom.automation.testng.VersionUtility.getRetryAnalyzerCla
  * needed, specifying a {@code null} value will signal that all propagated references should be released. To retrieve
  * the driver reference from the test attribute, extract it with the {@link TrackedObject#getValue()} method.
  */
-public class ExecutionFlowController implements IInvokedMethodListener, IAnnotationTransformer {
+public class ExecutionFlowController implements IInvokedMethodListener, IAnnotationTransformer, ITestListener,
+        IConfigurationListener, IDataProviderListener {
     
-    protected static final ThreadLocal<ITestResult> fromBefore = new InheritableThreadLocal<>();
-    protected static final ThreadLocal<ITestResult> fromMethod = new InheritableThreadLocal<>();
+    private static final ThreadLocal<InvocationContext> CONTEXT = new ThreadLocal<>();
     
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
@@ -166,37 +207,49 @@ public class ExecutionFlowController implements IInvokedMethodListener, IAnnotat
             ((IInvokedMethodListenerEx) testResult.getInstance()).afterInvocation(method, testResult);
         }
         
-        Map<String, Object> attributes;
         if (method.getTestMethod().isBeforeMethodConfiguration()) {
-            // merge with attributes from prior methods
-            ITestResult lastResult = fromBefore.get();
-            if (lastResult != null) {
-                attributes = PropertyManager.extractAttributes(lastResult);
-                PropertyManager.injectAttributes(attributes, testResult);
-            }
-            fromBefore.set(testResult);
+            // chain with results from prior methods
+            InvocationContext context = InvocationContext.forBeforeMethod(testResult);
+            context.before = new AttributeScope(testResult, context.before);
         } else if (method.isTestMethod()) {
-            fromMethod.set(testResult);
+            InvocationContext context = CONTEXT.get();
+            if (context == null) {
+                context = new InvocationContext();
+                CONTEXT.set(context);
+            }
+            context.enterAfterPhase(testResult);
+            // conclude retry sequence (if any)
+            if (testResult.getStatus() != ITestResult.FAILURE) {
+                RetryManager.releaseInvocation(testResult);
+            }
         } else if (method.getTestMethod().isAfterMethodConfiguration()) {
-            // nothing to do here
+            InvocationContext.concludeAfterMethod(testResult);
         }
     }
 
     @Override
     public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
-        Map<String, Object> attributes;
         if (method.getTestMethod().isBeforeMethodConfiguration()) {
             // nothing to do here
         } else if (method.isTestMethod()) {
-            ITestResult lastResult = fromBefore.get();
-            if (lastResult != null) {
-                attributes = PropertyManager.extractAttributes(lastResult);
-                PropertyManager.injectAttributes(attributes, testResult);
-                fromBefore.remove();
+            InvocationContext context = CONTEXT.get();
+            if (context != null) {
+                if (context.method != null) {
+                    // discard stale context
+                    context.discard();
+                } else if (context.before != null) {
+                    AttributePropagationEvent event = new AttributePropagationEvent();
+                    event.begin();
+                    int count = context.before.injectInto(testResult);
+                    event.complete("test-method", testResult, count);
+                    context.before = null;
+                }
             }
         } else if (method.getTestMethod().isAfterMethodConfiguration()) {
-            attributes = PropertyManager.extractAttributes(fromMethod.get());
-            PropertyManager.injectAttributes(attributes, testResult);
+            InvocationContext context = CONTEXT.get();
+            if ((context != null) && (context.method != null)) {
+                propagateAttributes("after-method", context.method, testResult);
+            }
         }
         
         if (testResult.getInstance() instanceof IInvokedMethodListenerEx) {
@@ -204,17 +257,53 @@ public class ExecutionFlowController implements IInvokedMethodListener, IAnnotat
         }
     }
 
+    @Override
+    public void onConfigurationSkip(ITestResult itr) {
+        if (itr.getMethod().isAfterMethodConfiguration()) {
+            InvocationContext.concludeAfterMethod(itr);
+        }
+    }
+
+    @Override
+    public void beforeDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+            ITestContext context) {
+        PrefetchIterator.beginDataProvider(context);
+    }
+
+    @Override
+    public void afterDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+            ITestContext context) {
+        PrefetchIterator.endDataProvider();
+    }
+
+    @Override
+    public void onDataProviderFailure(ITestNGMethod method, ITestContext context, RuntimeException exception) {
+        PrefetchIterator.endDataProvider();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        InvocationContext.dropBeforeResults();
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        RetryManager.releaseInvocations(context);
+        InvocationContext.releaseContexts(context);
+        PrefetchIterator.closeIterators(context);
+    }
+
     @Override
     @SuppressWarnings("rawtypes")
     public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
         // if @Test for test method
         if (testMethod != null) {
-            // get TestNG Foundation configuration
-            TestNGConfig config = TestNGConfig.getConfig();
+            // get TestNG Foundation configuration snapshot (no suite is running yet)
+            ConfigSnapshot config = TestNGConfig.getSnapshot();
             // if default test timeout is defined
-            if (config.containsKey(TestNGSettings.TEST_TIMEOUT.key())) {
+            if (config.hasTestTimeout()) {
                 // get default test timeout
-                long defaultTimeout = config.getLong(TestNGSettings.TEST_TIMEOUT.key());
+                long defaultTimeout = config.getTestTimeout();
                 // if current timeout is less than default
                 if (defaultTimeout > annotation.getTimeOut()) {
                     // set test timeout interval
@@ -228,13 +317,8 @@ public class ExecutionFlowController implements IInvokedMethodListener, IAnnotat
                 Class<IRetryAnalyzer> retryAnalyzerClass = config.getRetryAnalyzerClass();
                 // if retry enabled
                 if (retryAnalyzerClass != null) {
-                    // determine if retry is disabled for this method
-                    NoRetry noRetryOnMethod = testMethod.getAnnotation(NoRetry.class);
-                    // determine if retry is disabled for the class that declares this method
-                    NoRetry noRetryOnClass = testMethod.getDeclaringClass().getAnnotation(NoRetry.class);
-                    
-                    // if retry is not disabled for method or class
-                    if ((noRetryOnMethod == null) && (noRetryOnClass == null)) {
+                    // if retry is not disabled for method or declaring class
+                    if ( ! isRetryExempt(testMethod)) {
                         // set retry analyzer
                         annotation.setRetryAnalyzer(retryAnalyzerClass);
                     }
@@ -242,4 +326,223 @@ public class ExecutionFlowController implements IInvokedMethodListener, IAnnotat
             }
         }
     }
+    
+    /**
+     * Propagate the attributes of the specified source result to the indicated target result.
+     * 
+     * @param phase execution phase that receives the attributes
+     * @param source test result from which attributes are extracted
+     * @param target test result into which attributes are injected
+     */
+    private static void propagateAttributes(String phase, ITestResult source, ITestResult target) {
+        AttributePropagationEvent event = new AttributePropagationEvent();
+        event.begin();
+        int count = PropertyManager.propagateAttributes(source, target);
+        event.complete(phase, target, count);
+    }
+    
+    /**
+     * Determine if automatic retry is disabled for the specified test method, either by a {@link NoRetry} annotation
+     * on the method itself or on the class that declares it.
+     * 
+     * @param testMethod test method
+     * @return {@code true} if retry is disabled for the method; otherwise {@code false}
+     */
+    static boolean isRetryExempt(Method testMethod) {
+        return RetryExemptions.INSTANCE.get(testMethod.getDeclaringClass()).test(testMethod);
+    }
+    
+    /**
+     * Determine if the current thread holds an invocation propagation context.
+     * 
+     * @return {@code true} if the current thread holds a context; otherwise {@code false}
+     */
+    static boolean hasInvocationContext() {
+        return CONTEXT.get() != null;
+    }
+    
+    /**
+     * This class holds the attribute propagation state of the test method invocation that's running on the current
+     * thread: the chain of <i>before</i> method results, the test method result, and the {@code @AfterMethod}
+     * configuration methods that haven't concluded yet.
+     * <p>
+     * <b>NOTE</b>: Some {@code @AfterMethod} methods of a test class never run for a given invocation (e.g. - those
+     * with {@code onlyForGroups} or {@code lastTimeOnly} constraints), so a context may await <i>after</i> methods that
+     * never conclude. Such a context is discarded when the next invocation starts on its thread, and any that remain
+     * when the {@code <test>} context finishes are released by {@link #releaseContexts(ITestContext)}. Because these
+     * contexts are released from another thread, their fields are {@code volatile}.
+     */
+    private static final class InvocationContext {
+        
+        /** contexts with <i>after</i> methods that haven't concluded */
+        private static final Set<InvocationContext> PENDING = ConcurrentHashMap.newKeySet();
+        
+        private final Thread owner = Thread.currentThread();
+        private volatile AttributeScope before;
+        private volatile ITestResult method;
+        private volatile Set<Method> pendingAfter;
+        
+        /**
+         * Get the context to which the result of the specified <i>before</i> method is added. If the current context
+         * has already reached the test method, or if it holds <i>before</i> method results of another test class
+         * instance, it's stale and gets replaced.
+         * 
+         * @param configResult <i>before</i> method result
+         * @return invocation context for the current thread
+         */
+        static InvocationContext forBeforeMethod(ITestResult configResult) {
+            InvocationContext context = CONTEXT.get();
+            if ((context == null) || (context.method != null) || ((context.before != null)
+                    && (context.before.result.getInstance() != configResult.getInstance()))) {
+                if (context != null) {
+                    context.discard();
+                }
+                context = new InvocationContext();
+                CONTEXT.set(context);
+            }
+            return context;
+        }
+        
+        /**
+         * Drop the <i>before</i> method results held by the context of the current thread if the test method they were
+         * collected for wasn't invoked. Contexts that have reached the test method are retained for its <i>after</i>
+         * methods.
+         */
+        static void dropBeforeResults() {
+            InvocationContext context = CONTEXT.get();
+            if ((context != null) && (context.method == null)) {
+                context.discard();
+            }
+        }
+        
+        /**
+         * Record the specified test method result and the <i>after</i> methods that will receive its attributes. If
+         * the test class declares no <i>after</i> methods, the context is cleared.
+         * 
+         * @param testResult test method result
+         */
+        void enterAfterPhase(ITestResult testResult) {
+            before = null;
+            method = testResult;
+            pendingAfter = new HashSet<>();
+            if (testResult.getTestClass() instanceof ITestClass) {
+                for (ITestNGMethod afterMethod : ((ITestClass) testResult.getTestClass()).getAfterTestMethods()) {
+                    pendingAfter.add(afterMethod.getConstructorOrMethod().getMethod());
+                }
+            }
+            if (pendingAfter.isEmpty()) {
+                CONTEXT.remove();
+            } else {
+                PENDING.add(this);
+            }
+        }
+        
+        /**
+         * Discard this context, which belongs to the current thread.
+         */
+        void discard() {
+            PENDING.remove(this);
+            CONTEXT.remove();
+        }
+        
+        /**
+         * Record that the specified <i>after</i> method has concluded. When every <i>after</i> method of the test
+         * class has concluded, the context is cleared.
+         * 
+         * @param configResult <i>after</i> method result
+         */
+        static void concludeAfterMethod(ITestResult configResult) {
+            InvocationContext context = CONTEXT.get();
+            Set<Method> pending = (context != null) ? context.pendingAfter : null;
+            if (pending != null) {
+                pending.remove(configResult.getMethod().getConstructorOrMethod().getMethod());
+                if (pending.isEmpty()) {
+                    context.discard();
+                }
+            }
+        }
+        
+        /**
+         * Release the contexts of invocations that ran in the specified test context and still await <i>after</i>
+         * methods. The results held by these contexts are dropped, and contexts that belong to the current thread are
+         * removed from it.
+         * 
+         * @param testContext TestNG test context object
+         */
+        static void releaseContexts(ITestContext testContext) {
+            for (InvocationContext context : PENDING) {
+                ITestResult result = context.method;
+                if ((result == null) || (result.getTestContext() == testContext)) {
+                    PENDING.remove(context);
+                    context.before = null;
+                    context.method = null;
+                    context.pendingAfter = null;
+                    if ((context.owner == Thread.currentThread()) && (CONTEXT.get() == context)) {
+                        CONTEXT.remove();
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * This class caches the {@link NoRetry} status of the methods declared by each test class. The annotations of a
+     * class are scanned once, when the first of its methods is transformed, so subsequent methods of the same class
+     * incur a single lookup instead of two reflective annotation queries.
+     */
+    private static final class RetryExemptions extends ClassValue<Predicate<Method>> {
+        
+        private static final RetryExemptions INSTANCE = new RetryExemptions();
+        
+        @Override
+        protected Predicate<Method> computeValue(Class<?> type) {
+            if (type.isAnnotationPresent(NoRetry.class)) {
+                return method -> true;
+            }
+            Set<Method> methods = new HashSet<>();
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(NoRetry.class)) {
+                    methods.add(method);
+                }
+            }
+            return methods.isEmpty() ? method -> false : methods::contains;
+        }
+    }
+    
+    /**
+     * This class chains together the results of the {@code @BeforeMethod} configuration methods executed for a single
+     * test method invocation. Each link refers to its result and to the link of the preceding method, so no attributes
+     * are copied until the chain is flattened into the test method result.
+     */
+    private static final class AttributeScope {
+        
+        private final ITestResult result;
+        private final AttributeScope parent;
+        
+        /**
+         * Constructor: Add the specified result to the indicated chain.
+         * 
+         * @param result <i>before</i> method result
+         * @param parent chain of preceding <i>before</i> method results; {@code null} for the first method
+         */
+        AttributeScope(ITestResult result, AttributeScope parent) {
+            this.result = result;
+            this.parent = parent;
+        }
+        
+        /**
+         * Inject the attributes of this chain into the specified result. Links are visited from newest to oldest, so
+         * the value set by the earliest <i>before</i> method prevails.
+         * 
+         * @param target test method result
+         * @return number of attributes written to the target
+         */
+        int injectInto(ITestResult target) {
+            int count = 0;
+            for (AttributeScope link = this; link != null; link = link.parent) {
+                count += PropertyManager.propagateAttributes(link.result, target);
+            }
+            return count;
+        }
+    }
 }
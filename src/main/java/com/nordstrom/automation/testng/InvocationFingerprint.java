@@ -0,0 +1,279 @@
+package com.nordstrom.automation.testng;
+
+import java.lang.reflect.Array;
+
+import org.testng.ITestResult;
+
+/**
+ * This class holds a 128-bit fingerprint of a single invocation of a TestNG test method. The fingerprint is computed
+ * once from the suite name, test name, class name, method name, and parameters of the invocation, and holds no
+ * references to any of these. Fingerprints are used as ledger keys by {@link RetryManager} when the
+ * {@link StandardKeyStrategy#FINGERPRINT FINGERPRINT} strategy is selected, and the {@link #toString() hexadecimal
+ * form} of a fingerprint is suitable for use in artifact names and reports.
+ * <p>
+ * Parameters are fingerprinted as follows:
+ * <ul>
+ *     <li>Strings, primitive wrappers, enumeration constants, and classes contribute their values.</li>
+ *     <li>Arrays contribute their elements, fingerprinted recursively.</li>
+ *     <li>All other objects contribute their class names and {@link Object#hashCode() hash codes}. These parameters
+ *     must implement value-based hash codes, so that the fresh instances supplied to retried invocations (e.g. - when
+ *     data provider results aren't cached for retries) produce the same fingerprint. Note that these parameters are
+ *     only identified by 32-bit hash codes, so unequal values with colliding hash codes yield the same fingerprint,
+ *     and that mutating a parameter changes the fingerprint of the invocation. For tests with parameters like these,
+ *     use the {@link StandardKeyStrategy#RECORD RECORD} strategy instead.</li>
+ * </ul>
+ */
+public final class InvocationFingerprint {
+    
+    private final long high;
+    private final long low;
+    
+    /**
+     * Constructor: Initialize fingerprint with the specified value.
+     * 
+     * @param high upper 64 bits of the fingerprint
+     * @param low lower 64 bits of the fingerprint
+     */
+    InvocationFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+    
+    /**
+     * Compute the fingerprint of the invocation that produced the specified test result.
+     * 
+     * @param result TestNG test result object
+     * @return invocation fingerprint
+     */
+    public static InvocationFingerprint of(ITestResult result) {
+        Hasher hasher = new Hasher();
+        hasher.putString(result.getTestContext().getSuite().getName());
+        hasher.putString(result.getTestContext().getName());
+        hasher.putString(result.getMethod().getRealClass().getName());
+        hasher.putString(result.getMethod().getMethodName());
+        hasher.putValue(result.getParameters());
+        return hasher.finish();
+    }
+    
+    /**
+     * Get the upper 64 bits of this fingerprint.
+     * 
+     * @return upper 64 bits
+     */
+    public long getHigh() {
+        return high;
+    }
+    
+    /**
+     * Get the lower 64 bits of this fingerprint.
+     * 
+     * @return lower 64 bits
+     */
+    public long getLow() {
+        return low;
+    }
+    
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32));
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof InvocationFingerprint)) {
+            return false;
+        }
+        InvocationFingerprint other = (InvocationFingerprint) obj;
+        return (high == other.high) && (low == other.low);
+    }
+    
+    /**
+     * Get the hexadecimal form of this fingerprint.
+     * 
+     * @return 32-digit hexadecimal string
+     */
+    @Override
+    public String toString() {
+        return String.format("%016X%016X", high, low);
+    }
+    
+    /**
+     * This class computes 128-bit fingerprints with the block and finalization functions of MurmurHash3 (x64 128-bit
+     * variant), applied to a stream of 64-bit words.
+     */
+    private static class Hasher {
+        
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+        
+        private static final long NULL = 0;
+        private static final long STRING = 1;
+        private static final long ARRAY = 2;
+        private static final long VALUE = 3;
+        private static final long OBJECT = 4;
+        
+        private long h1;
+        private long h2;
+        private long pending;
+        private boolean hasPending;
+        private long length;
+        
+        /**
+         * Add the specified word to the fingerprint.
+         * 
+         * @param word 64-bit word
+         */
+        void putLong(long word) {
+            if (hasPending) {
+                mixBlock(pending, word);
+                hasPending = false;
+            } else {
+                pending = word;
+                hasPending = true;
+            }
+            length += 8;
+        }
+        
+        /**
+         * Add the specified string to the fingerprint.
+         * 
+         * @param str string to be added (may be {@code null})
+         */
+        void putString(String str) {
+            if (str == null) {
+                putLong(NULL);
+                return;
+            }
+            int len = str.length();
+            putLong(STRING);
+            putLong(len);
+            int i = 0;
+            for (; i + 4 <= len; i += 4) {
+                putLong(((long) str.charAt(i) << 48) | ((long) str.charAt(i + 1) << 32)
+                        | ((long) str.charAt(i + 2) << 16) | str.charAt(i + 3));
+            }
+            if (i < len) {
+                long word = 0;
+                for (; i < len; i++) {
+                    word = (word << 16) | str.charAt(i);
+                }
+                putLong(word);
+            }
+        }
+        
+        /**
+         * Add the specified parameter value to the fingerprint.
+         * 
+         * @param value value to be added (may be {@code null})
+         */
+        void putValue(Object value) {
+            if (value == null) {
+                putLong(NULL);
+            } else if (value instanceof String) {
+                putString((String) value);
+            } else if (value instanceof Object[]) {
+                Object[] array = (Object[]) value;
+                putLong(ARRAY);
+                putLong(array.length);
+                for (Object element : array) {
+                    putValue(element);
+                }
+            } else if (value.getClass().isArray()) {
+                int len = Array.getLength(value);
+                putLong(ARRAY);
+                putString(value.getClass().getName());
+                putLong(len);
+                for (int i = 0; i < len; i++) {
+                    putValue(Array.get(value, i));
+                }
+            } else if ((value instanceof Double) || (value instanceof Float)) {
+                putLong(VALUE);
+                putString(value.getClass().getName());
+                putLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+            } else if ((value instanceof Long) || (value instanceof Integer)
+                    || (value instanceof Short) || (value instanceof Byte)) {
+                putLong(VALUE);
+                putString(value.getClass().getName());
+                putLong(((Number) value).longValue());
+            } else if (value instanceof Character) {
+                putLong(VALUE);
+                putString(value.getClass().getName());
+                putLong((Character) value);
+            } else if (value instanceof Boolean) {
+                putLong(VALUE);
+                putString(value.getClass().getName());
+                putLong(((Boolean) value) ? 1 : 0);
+            } else if (value instanceof Enum) {
+                putLong(VALUE);
+                putString(((Enum<?>) value).getDeclaringClass().getName());
+                putString(((Enum<?>) value).name());
+            } else if (value instanceof Class) {
+                putLong(VALUE);
+                putString(Class.class.getName());
+                putString(((Class<?>) value).getName());
+            } else {
+                putLong(OBJECT);
+                putString(value.getClass().getName());
+                putLong(value.hashCode());
+            }
+        }
+        
+        /**
+         * Complete the computation of the fingerprint.
+         * 
+         * @return invocation fingerprint
+         */
+        InvocationFingerprint finish() {
+            if (hasPending) {
+                h1 ^= mixK1(pending);
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+            return new InvocationFingerprint(h1, h2);
+        }
+        
+        private void mixBlock(long k1, long k2) {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            return k1;
+        }
+        
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            return k2;
+        }
+        
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb93f53c9fe1bL;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
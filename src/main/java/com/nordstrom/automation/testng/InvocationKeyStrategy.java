@@ -0,0 +1,29 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.ITestResult;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+/**
+ * This interface defines the strategy used by {@link RetryManager} to derive the key under which the remaining
+ * retries of a failed invocation are tracked. The strategy is selected via the
+ * {@link TestNGSettings#INVOCATION_KEY INVOCATION_KEY} setting, which accepts either the name of one of the
+ * {@link StandardKeyStrategy standard strategies} or the fully-qualified name of a class that implements this
+ * interface.
+ * <p>
+ * <b>NOTE</b>: The keys produced for retries of a single invocation must be equal, and the keys produced for distinct
+ * invocations should be unequal. Keys are held by <b>RetryManager</b> while retries of the invocation are in flight.
+ * 
+ * @see StandardKeyStrategy
+ */
+public interface InvocationKeyStrategy {
+    
+    /**
+     * Get the key that identifies the invocation that produced the specified test result.
+     * 
+     * @param result TestNG test result object
+     * @return invocation key
+     */
+    Object getInvocationKey(ITestResult result);
+    
+}
@@ -14,6 +14,8 @@ import org.testng.annotations.IDataProviderAnnotation;
 import org.testng.annotations.IFactoryAnnotation;
 import org.testng.annotations.IListenersAnnotation;
 
+import com.nordstrom.common.base.UncheckedThrow;
+
 public class ListenerChain extends AbstractListenerChain {
 
     /**
@@ -24,10 +26,10 @@ public class ListenerChain extends AbstractListenerChain {
      */
     @Override
     public void beforeConfiguration(ITestResult tr) {
-        synchronized(configListeners) {
-            for (IConfigurationListener configListener : configListeners) {
-                configListener.beforeConfiguration(tr);
-            }
+        try {
+            getDispatcher(ListenerEvent.BEFORE_CONFIGURATION).invokeExact(tr);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -40,10 +42,10 @@ public class ListenerChain extends AbstractListenerChain {
      */
     @Override
     public void beforeConfiguration(ITestResult tr, ITestNGMethod tm) {
-        synchronized(configListeners) {
-            for (IConfigurationListener configListener : configListeners) {
-                configListener.beforeConfiguration(tr, tm);
-            }
+        try {
+            getDispatcher(ListenerEvent.BEFORE_CONFIGURATION_WITH_METHOD).invokeExact(tr, tm);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
     
@@ -66,10 +68,11 @@ public class ListenerChain extends AbstractListenerChain {
         
         attachListeners(testClass, testCtor, testMethod);
 
-        synchronized(annotationXformers) {
-            for (IAnnotationTransformer annotationXformer : annotationXformers) {
-                annotationXformer.transform(annotation, testClass, testCtor, testMethod);
-            }
+        try {
+            getDispatcher(ListenerEvent.TRANSFORM_CONFIGURATION)
+                    .invokeExact(annotation, testClass, testCtor, testMethod);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -84,10 +87,10 @@ public class ListenerChain extends AbstractListenerChain {
     public void transform(IDataProviderAnnotation annotation, Method method) {
         attachListeners(method);
         
-        synchronized(annotationXformers) {
-            for (IAnnotationTransformer annotationXformer : annotationXformers) {
-                annotationXformer.transform(annotation, method);
-            }
+        try {
+            getDispatcher(ListenerEvent.TRANSFORM_DATA_PROVIDER).invokeExact(annotation, method);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -102,10 +105,10 @@ public class ListenerChain extends AbstractListenerChain {
     public void transform(IFactoryAnnotation annotation, Method method) {
         attachListeners(method);
         
-        synchronized(annotationXformers) {
-            for (IAnnotationTransformer annotationXformer : annotationXformers) {
-                annotationXformer.transform(annotation, method);
-            }
+        try {
+            getDispatcher(ListenerEvent.TRANSFORM_FACTORY).invokeExact(annotation, method);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -121,10 +124,10 @@ public class ListenerChain extends AbstractListenerChain {
     public void transform(IListenersAnnotation annotation, Class testClass) {
         attachListeners(testClass);
         
-        synchronized(annotationXformers) {
-            for (IAnnotationTransformer annotationXformer : annotationXformers) {
-                annotationXformer.transform(annotation, testClass);
-            }
+        try {
+            getDispatcher(ListenerEvent.TRANSFORM_LISTENERS).invokeExact(annotation, testClass);
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
         }
     }
 
@@ -133,21 +136,15 @@ public class ListenerChain extends AbstractListenerChain {
         super.bucketizeListener(object);
         
         if (object instanceof IAnnotationTransformer) {
-            synchronized(annotationXformers) {
-                annotationXformers.add((IAnnotationTransformer) object);
-            }
+            annotationXformers.add((IAnnotationTransformer) object);
         }
         
         if (object instanceof IConfigurationListener) {
-            synchronized(configListeners) {
-                configListeners.add((IConfigurationListener) object);
-            }
+            configListeners.add((IConfigurationListener) object);
         }
         
         if (object instanceof IInvokedMethodListener) {
-            synchronized(methodListeners) {
-                methodListeners.add((IInvokedMethodListener) object);
-            }
+            methodListeners.add((IInvokedMethodListener) object);
         }
     }
     
@@ -0,0 +1,199 @@
+package com.nordstrom.automation.testng;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IClassListener;
+import org.testng.IConfigurationListener;
+import org.testng.IDataProviderListener;
+import org.testng.IDataProviderMethod;
+import org.testng.IExecutionListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.IConfigurationAnnotation;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.annotations.IFactoryAnnotation;
+import org.testng.annotations.IListenersAnnotation;
+import org.testng.annotations.ITestAnnotation;
+
+/**
+ * This enumeration defines the events that {@link AbstractListenerChain} dispatches to its attached listeners. Each
+ * constant identifies the listener interface that receives the event and the signature of the listener method that
+ * handles it, from which the chain compiles a specialized dispatcher for the event.
+ */
+public enum ListenerEvent {
+    /** [IAnnotationTransformer] transform an ITestAnnotation */
+    TRANSFORM_TEST(IAnnotationTransformer.class, "transform",
+            ITestAnnotation.class, Class.class, Constructor.class, Method.class),
+    /** [IAnnotationTransformer] transform an IConfigurationAnnotation */
+    TRANSFORM_CONFIGURATION(IAnnotationTransformer.class, "transform",
+            IConfigurationAnnotation.class, Class.class, Constructor.class, Method.class),
+    /** [IAnnotationTransformer] transform an IDataProviderAnnotation */
+    TRANSFORM_DATA_PROVIDER(IAnnotationTransformer.class, "transform", IDataProviderAnnotation.class, Method.class),
+    /** [IAnnotationTransformer] transform an IFactoryAnnotation */
+    TRANSFORM_FACTORY(IAnnotationTransformer.class, "transform", IFactoryAnnotation.class, Method.class),
+    /** [IAnnotationTransformer] transform an IListenersAnnotation */
+    TRANSFORM_LISTENERS(IAnnotationTransformer.class, "transform", IListenersAnnotation.class, Class.class),
+    /** [IExecutionListener] before the TestNG run starts */
+    EXECUTION_START(IExecutionListener.class, "onExecutionStart"),
+    /** [IExecutionListener] after all suites have run */
+    EXECUTION_FINISH(IExecutionListener.class, "onExecutionFinish"),
+    /** [ISuiteListener] before the SuiteRunner starts */
+    SUITE_START(ISuiteListener.class, "onStart", ISuite.class),
+    /** [ISuiteListener] after the SuiteRunner has run all the tests */
+    SUITE_FINISH(ISuiteListener.class, "onFinish", ISuite.class),
+    /** [IConfigurationListener] before a configuration method is invoked */
+    BEFORE_CONFIGURATION(IConfigurationListener.class, "beforeConfiguration", ITestResult.class),
+    /** [IConfigurationListener] before a configuration method is invoked (with test method) */
+    BEFORE_CONFIGURATION_WITH_METHOD(IConfigurationListener.class, "beforeConfiguration",
+            ITestResult.class, ITestNGMethod.class),
+    /** [IConfigurationListener] a configuration method succeeded */
+    CONFIGURATION_SUCCESS(IConfigurationListener.class, "onConfigurationSuccess", ITestResult.class),
+    /** [IConfigurationListener] a configuration method failed */
+    CONFIGURATION_FAILURE(IConfigurationListener.class, "onConfigurationFailure", ITestResult.class),
+    /** [IConfigurationListener] a configuration method was skipped */
+    CONFIGURATION_SKIP(IConfigurationListener.class, "onConfigurationSkip", ITestResult.class),
+    /** [IInvokedMethodListener] before a test or configuration method is invoked */
+    BEFORE_INVOCATION(IInvokedMethodListener.class, "beforeInvocation", IInvokedMethod.class, ITestResult.class),
+    /** [IInvokedMethodListener] after a test or configuration method is invoked */
+    AFTER_INVOCATION(IInvokedMethodListener.class, "afterInvocation", IInvokedMethod.class, ITestResult.class),
+    /** [ITestListener] before a test is invoked */
+    TEST_START(ITestListener.class, "onTestStart", ITestResult.class),
+    /** [ITestListener] a test succeeded */
+    TEST_SUCCESS(ITestListener.class, "onTestSuccess", ITestResult.class),
+    /** [ITestListener] a test failed */
+    TEST_FAILURE(ITestListener.class, "onTestFailure", ITestResult.class),
+    /** [ITestListener] a test was skipped */
+    TEST_SKIPPED(ITestListener.class, "onTestSkipped", ITestResult.class),
+    /** [ITestListener] a test failed, but within its success percentage */
+    TEST_FAILED_WITHIN_PERCENTAGE(ITestListener.class, "onTestFailedButWithinSuccessPercentage", ITestResult.class),
+    /** [ITestListener] before any configuration method of a test context is called */
+    CONTEXT_START(ITestListener.class, "onStart", ITestContext.class),
+    /** [ITestListener] after all the tests of a test context have run */
+    CONTEXT_FINISH(ITestListener.class, "onFinish", ITestContext.class),
+    /** [IMethodInterceptor] alter the list of test methods that TestNG is about to run */
+    INTERCEPT(IMethodInterceptor.class, "intercept", List.class, ITestContext.class),
+    /** [IClassListener] before {@code @BeforeClass} configuration methods are called */
+    BEFORE_CLASS(IClassListener.class, "onBeforeClass", ITestClass.class),
+    /** [IClassListener] before {@code @AfterClass} configuration methods are called */
+    AFTER_CLASS(IClassListener.class, "onAfterClass", ITestClass.class),
+    /** [IDataProviderListener] before a data provider method is invoked */
+    BEFORE_DATA_PROVIDER(IDataProviderListener.class, "beforeDataProviderExecution",
+            IDataProviderMethod.class, ITestNGMethod.class, ITestContext.class),
+    /** [IDataProviderListener] after a data provider method has been invoked */
+    AFTER_DATA_PROVIDER(IDataProviderListener.class, "afterDataProviderExecution",
+            IDataProviderMethod.class, ITestNGMethod.class, ITestContext.class),
+    /** [IDataProviderListener] a data provider method failed */
+    DATA_PROVIDER_FAILURE(IDataProviderListener.class, "onDataProviderFailure",
+            ITestNGMethod.class, ITestContext.class, RuntimeException.class);
+
+    private final Class<? extends ITestNGListener> listenerType;
+    private final String methodName;
+    private final Class<?>[] parameterTypes;
+    
+    private static final Set<ListenerEvent> LAST_ATTACHED_FIRST = EnumSet.of(SUITE_START, BEFORE_INVOCATION,
+            TEST_START, CONTEXT_START, BEFORE_CLASS, BEFORE_DATA_PROVIDER);
+    private static final MethodHandle NO_OP =
+            MethodHandles.constant(Object.class, null).asType(MethodType.methodType(void.class));
+
+    ListenerEvent(Class<? extends ITestNGListener> listenerType, String methodName, Class<?>... parameterTypes) {
+        this.listenerType = listenerType;
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+    }
+
+    /**
+     * Get the listener interface that receives this event.
+     *
+     * @return listener interface
+     */
+    public Class<? extends ITestNGListener> getListenerType() {
+        return listenerType;
+    }
+
+    /**
+     * Get the name of the listener method that handles this event.
+     *
+     * @return listener method name
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Determine if this event is dispatched in last-attached-first-called order.
+     * <p>
+     * <b>NOTE</b>: Listener <i>before</i> events are dispatched in last-attached-first-called order. All other events
+     * are dispatched in first-attached-first-called order.
+     *
+     * @return {@code true} if this is a listener <i>before</i> event; otherwise {@code false}
+     */
+    public boolean isLastAttachedFirst() {
+        return LAST_ATTACHED_FIRST.contains(this);
+    }
+
+    /**
+     * Compile a dispatcher that delivers this event to the specified targets.
+     * <p>
+     * <b>NOTE</b>: The dispatcher is a composition of handles for the listener method bound to each target, so it
+     * calls every target directly in dispatch order. Its type is the signature of the listener method. For events
+     * whose listener method returns a value (i.e. - {@link #INTERCEPT}), the value returned by each target replaces
+     * the first argument passed to the next one, and the dispatcher returns the value of the last target.
+     *
+     * @param targets event targets, in the order in which they were attached
+     * @return event dispatcher
+     */
+    MethodHandle compileDispatcher(ITestNGListener[] targets) {
+        MethodHandle handler = getHandler();
+        MethodType type = handler.type().dropParameterTypes(0, 1);
+        boolean chained = (type.returnType() != void.class);
+        
+        MethodHandle dispatcher;
+        if (chained) {
+            dispatcher = MethodHandles.dropArguments(
+                    MethodHandles.identity(type.returnType()), 1, type.dropParameterTypes(0, 1).parameterList());
+        } else {
+            dispatcher = MethodHandles.dropArguments(NO_OP, 0, type.parameterList());
+        }
+        
+        for (int i = 0; i < targets.length; i++) {
+            ITestNGListener target = targets[isLastAttachedFirst() ? (targets.length - 1 - i) : i];
+            MethodHandle next = handler.bindTo(target);
+            if (chained) {
+                // replace the first argument with the value returned by the preceding targets
+                next = MethodHandles.dropArguments(next, 1, type.parameterType(0));
+            }
+            dispatcher = MethodHandles.foldArguments(next, dispatcher);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Get a handle for the listener method that handles this event.
+     *
+     * @return listener method handle; the receiver is the first parameter
+     */
+    private MethodHandle getHandler() {
+        try {
+            return MethodHandles.publicLookup().unreflect(listenerType.getMethod(methodName, parameterTypes));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Unable to resolve listener method for event: " + name(), e);
+        }
+    }
+}
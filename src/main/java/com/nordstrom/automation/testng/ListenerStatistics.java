@@ -0,0 +1,249 @@
+package com.nordstrom.automation.testng;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.testng.ITestNGListener;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+/**
+ * This class collects per-listener, per-event timing statistics for the listeners attached to a
+ * {@link AbstractListenerChain listener chain}. Collection is enabled via the
+ * {@link TestNGSettings#LISTENER_STATS LISTENER_STATS} setting, and a summary of the collected statistics is logged
+ * when the chain receives the {@code onExecutionFinish} event.
+ * <p>
+ * For each attached listener and each event it handles, the following values are recorded:
+ * <ul>
+ *     <li>invocation count</li>
+ *     <li>cumulative and maximum wall-clock time</li>
+ *     <li>bytes allocated by the invoking thread (if supported by the JVM)</li>
+ * </ul>
+ *
+ * Counters are striped {@link LongAdder} and {@link LongAccumulator} objects that are allocated when the listener is
+ * attached, so recording an event is lock-free and allocates nothing.
+ */
+public final class ListenerStatistics {
+
+    private static final ListenerEvent[] EVENTS = ListenerEvent.values();
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = getAllocationBean();
+    private static final MethodHandle ALLOCATED_BYTES = getAllocatedBytesHandle(ALLOCATION_BEAN);
+
+    private final Map<Class<?>, EventStatistics[]> listenerStatistics = new ConcurrentHashMap<>();
+
+    /**
+     * Get the event statistics for the specified listener, creating them if necessary.
+     *
+     * @param listener listener object
+     * @return array of event statistics for the specified listener, indexed by event ordinal
+     */
+    EventStatistics[] getEventStatistics(ITestNGListener listener) {
+        return listenerStatistics.computeIfAbsent(listener.getClass(), k -> newStatistics());
+    }
+
+    /**
+     * Get the statistics recorded for the specified event of the indicated listener.
+     *
+     * @param listenerType listener class
+     * @param event listener event
+     * @return (optional) event statistics; empty if the listener isn't attached
+     */
+    public Optional<EventStatistics> getStatistics(Class<? extends ITestNGListener> listenerType,
+            ListenerEvent event) {
+        EventStatistics[] statistics = listenerStatistics.get(listenerType);
+        if (statistics == null) {
+            return Optional.empty();
+        }
+        return Optional.of(statistics[event.ordinal()]);
+    }
+
+    /**
+     * Get a summary of the recorded statistics. Events that were never dispatched are omitted.
+     *
+     * @return statistics summary
+     */
+    public String getSummary() {
+        StringBuilder builder = new StringBuilder("Listener statistics:");
+        for (Map.Entry<Class<?>, EventStatistics[]> entry : listenerStatistics.entrySet()) {
+            builder.append("\n  ").append(entry.getKey().getName());
+            for (ListenerEvent event : EVENTS) {
+                EventStatistics stats = entry.getValue()[event.ordinal()];
+                if (stats.getCount() > 0) {
+                    builder.append("\n    ").append(event).append(": ").append(stats);
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+
+    /**
+     * Create the array of event statistics objects for a single listener.
+     *
+     * @return array of event statistics, indexed by event ordinal
+     */
+    static EventStatistics[] newStatistics() {
+        EventStatistics[] statistics = new EventStatistics[EVENTS.length];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new EventStatistics();
+        }
+        return statistics;
+    }
+
+    /**
+     * Get the number of bytes allocated by the current thread so far.
+     *
+     * @return allocated bytes; -1 if allocation tracking isn't supported
+     */
+    static long allocatedBytes() {
+        if (ALLOCATED_BYTES != null) {
+            try {
+                return (long) ALLOCATED_BYTES.invokeExact();
+            } catch (Throwable t) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a handle that returns the number of bytes allocated by the current thread so far.
+     * <p>
+     * <b>NOTE</b>: On Java 14 and later, this is {@code getCurrentThreadAllocatedBytes()} of the specified bean. On
+     * earlier versions, the allocated bytes are looked up by the ID of the current thread. {@link Thread#getId()} is
+     * deprecated as of Java 19, so it's resolved by name to keep it out of the compiled code.
+     *
+     * @param bean thread management bean; may be {@code null}
+     * @return allocated bytes handle of type {@code ()long}; {@code null} if allocation tracking isn't supported
+     */
+    private static MethodHandle getAllocatedBytesHandle(com.sun.management.ThreadMXBean bean) {
+        if (bean == null) {
+            return null;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            return lookup.findVirtual(com.sun.management.ThreadMXBean.class, "getCurrentThreadAllocatedBytes",
+                    MethodType.methodType(long.class)).bindTo(bean);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // not available prior to Java 14
+        }
+        try {
+            MethodHandle byId = lookup.findVirtual(com.sun.management.ThreadMXBean.class, "getThreadAllocatedBytes",
+                    MethodType.methodType(long.class, long.class)).bindTo(bean);
+            MethodHandle currentId = MethodHandles.filterReturnValue(
+                    lookup.findStatic(Thread.class, "currentThread", MethodType.methodType(Thread.class)),
+                    lookup.findVirtual(Thread.class, "getId", MethodType.methodType(long.class)));
+            return MethodHandles.collectArguments(byId, 0, currentId);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the thread management bean, if it supports per-thread allocation tracking.
+     *
+     * @return thread management bean; {@code null} if allocation tracking isn't supported
+     */
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        try {
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) threadBean;
+                if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                    return sunBean;
+                }
+            }
+        } catch (LinkageError | RuntimeException e) {
+            // allocation tracking unavailable
+        }
+        return null;
+    }
+
+    /**
+     * This class holds the statistics recorded for one event of a single listener.
+     */
+    public static final class EventStatistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private EventStatistics() { }
+
+        /**
+         * Record a single invocation of this event.
+         *
+         * @param nanos elapsed wall-clock time in nanoseconds
+         * @param bytes bytes allocated by the invoking thread; negative if unknown
+         */
+        void record(long nanos, long bytes) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (bytes > 0) {
+                allocatedBytes.add(bytes);
+            }
+        }
+
+        /**
+         * Get the number of times this event was dispatched to the listener.
+         *
+         * @return invocation count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Get the cumulative wall-clock time spent handling this event.
+         *
+         * @return cumulative time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Get the longest wall-clock time spent handling a single dispatch of this event.
+         *
+         * @return maximum time in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Get the number of bytes allocated while handling this event.
+         *
+         * @return allocated bytes; -1 if allocation tracking isn't supported
+         */
+        public long getAllocatedBytes() {
+            return (ALLOCATED_BYTES != null) ? allocatedBytes.sum() : -1;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("count=").append(getCount());
+            builder.append(", total=").append(getTotalNanos() / 1000).append("us");
+            builder.append(", max=").append(getMaxNanos() / 1000).append("us");
+            if (ALLOCATED_BYTES != null) {
+                builder.append(", allocated=").append(getAllocatedBytes()).append("B");
+            }
+            return builder.toString();
+        }
+    }
+}
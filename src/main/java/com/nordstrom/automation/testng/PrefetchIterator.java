@@ -0,0 +1,286 @@
+package com.nordstrom.automation.testng;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.testng.ITestContext;
+
+/**
+ * This class is a data provider iterator that produces its parameter sets on background threads. Parameter sets are
+ * prefetched into a bounded queue, so test methods can start on the first parameter set while later parameter sets are
+ * still being built. Instances are created by the {@code createPrefetchIterator} methods of {@link DataProviders}.
+ * <ul>
+ *     <li>A single producer thread consumes the source iterator in order. If a row builder is specified with a
+ *     parallelism greater than 1, parameter sets are built concurrently by a pool of builder threads.</li>
+ *     <li>Parameter sets are returned in source order, regardless of the order in which they're completed.</li>
+ *     <li>An exception thrown by the source iterator or the row builder is rethrown by {@link #next()} at the position
+ *     where it occurred, after which the iterator is closed.</li>
+ *     <li>The iterator is closed automatically when it's exhausted, or when the consuming thread is interrupted.</li>
+ * </ul>
+ *
+ * If {@link ExecutionFlowController} is attached, each iterator that's created by a data provider is registered with
+ * the test context in which the data provider runs. Iterators that are still open when this test context finishes
+ * (e.g. - because the consumer stopped iterating before the source was exhausted) are closed automatically, which
+ * stops their background threads and releases the source iterator and its prefetched parameter sets. Iterators that
+ * are created outside a data provider must be closed by their creator. In any case, the background threads are
+ * daemons, so an abandoned iterator never prevents the JVM from exiting.
+ *
+ * @param <T> source item type
+ */
+public final class PrefetchIterator<T> implements Iterator<Object[]>, AutoCloseable {
+
+    private static final Future<Object[]> END = CompletableFuture.completedFuture(null);
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+    private static final ThreadLocal<ITestContext> PROVIDER_CONTEXT = new ThreadLocal<>();
+    private static final Map<ITestContext, Set<PrefetchIterator<?>>> OPEN = new ConcurrentHashMap<>();
+
+    private final Iterator<T> source;
+    private final Function<? super T, Object[]> rowBuilder;
+    private final BlockingQueue<Future<Object[]>> queue;
+    private final ExecutorService builders;
+    private final Thread producer;
+    private final ITestContext context;
+    private volatile boolean closed;
+
+    private Future<Object[]> pending;
+    private boolean done;
+
+    /**
+     * Constructor: Start prefetching parameter sets from the specified source.
+     *
+     * @param source source iterator
+     * @param rowBuilder function that builds a parameter set from a source item
+     * @param depth maximum number of parameter sets to prefetch
+     * @param parallelism number of threads that build parameter sets
+     * @throws IllegalArgumentException if either [depth] or [parallelism] is less than 1
+     */
+    PrefetchIterator(Iterator<T> source, Function<? super T, Object[]> rowBuilder, int depth, int parallelism) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be positive; was: " + depth);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Producer parallelism must be positive; was: " + parallelism);
+        }
+        this.source = source;
+        this.rowBuilder = rowBuilder;
+        this.queue = new ArrayBlockingQueue<>(depth);
+
+        String prefix = "testng-prefetch-" + INSTANCE_COUNT.incrementAndGet();
+        this.builders = (parallelism > 1)
+                ? Executors.newFixedThreadPool(parallelism, daemonFactory(prefix + "-builder")) : null;
+        this.producer = daemonFactory(prefix + "-producer").newThread(this::produce);
+        this.context = PROVIDER_CONTEXT.get();
+        if (context != null) {
+            OPEN.computeIfAbsent(context, key -> ConcurrentHashMap.newKeySet()).add(this);
+        }
+        this.producer.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the consuming thread is interrupted while waiting for a parameter set
+     */
+    @Override
+    public boolean hasNext() {
+        if (done || closed) {
+            return false;
+        }
+        if (pending == null) {
+            try {
+                pending = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while waiting for prefetched parameter set", e);
+            }
+            if (closed) {
+                // closed while waiting; discard whatever released this thread
+                pending = null;
+                return false;
+            }
+            if (pending == END) {
+                pending = null;
+                done = true;
+                close();
+            }
+        }
+        return !done;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the consuming thread is interrupted while waiting for a parameter set
+     */
+    @Override
+    public Object[] next() {
+        if ( ! hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Future<Object[]> row = pending;
+        pending = null;
+        try {
+            return row.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Interrupted while waiting for prefetched parameter set", e);
+        } catch (ExecutionException e) {
+            done = true;
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed building parameter set", cause);
+        }
+    }
+
+    /**
+     * Stop the background threads and discard prefetched parameter sets. This method is idempotent, and may be
+     * called from any thread. A consumer that's blocked in {@link #hasNext()} is released, and returns
+     * {@code false}.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        // stop the producer before draining the queue
+        closed = true;
+        producer.interrupt();
+        if (builders != null) {
+            for (Runnable task : builders.shutdownNow()) {
+                ((Future<?>) task).cancel(false);
+            }
+        }
+        // release a consumer blocked in hasNext(); retry if the producer queued a row before it stopped
+        do {
+            queue.clear();
+        } while ( ! queue.offer(END));
+        if (context != null) {
+            OPEN.computeIfPresent(context, (key, iterators) -> {
+                iterators.remove(this);
+                return iterators.isEmpty() ? null : iterators;
+            });
+        }
+    }
+
+    /**
+     * Determine if this iterator has been closed.
+     *
+     * @return {@code true} if this iterator has been closed; otherwise {@code false}
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Record that a data provider of the specified test context is about to run on the current thread. Iterators
+     * created by the data provider are registered with this context.
+     *
+     * @param testContext TestNG test context object
+     */
+    static void beginDataProvider(ITestContext testContext) {
+        PROVIDER_CONTEXT.set(testContext);
+    }
+
+    /**
+     * Record that the data provider that's running on the current thread has finished.
+     */
+    static void endDataProvider() {
+        PROVIDER_CONTEXT.remove();
+    }
+
+    /**
+     * Close the iterators registered with the specified test context that are still open.
+     *
+     * @param testContext TestNG test context object
+     */
+    static void closeIterators(ITestContext testContext) {
+        Set<PrefetchIterator<?>> iterators = OPEN.remove(testContext);
+        if (iterators != null) {
+            for (PrefetchIterator<?> iterator : iterators) {
+                iterator.close();
+            }
+        }
+    }
+
+    /**
+     * Consume the source iterator, queueing parameter sets in source order. The queue is terminated by either the
+     * {@code END} marker or a failed future.
+     */
+    private void produce() {
+        try {
+            Future<Object[]> last = drainSource();
+            if ( ! closed) {
+                queue.put(last);
+            }
+        } catch (InterruptedException e) {
+            // closed by consumer
+        } finally {
+            if (builders != null) {
+                // let queued builds complete, then release pool threads
+                builders.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Queue a parameter set for each item of the source iterator.
+     *
+     * @return {@code END} marker if the source was exhausted; failed future if the source or row builder threw
+     * @throws InterruptedException if interrupted while waiting for queue capacity
+     */
+    private Future<Object[]> drainSource() throws InterruptedException {
+        try {
+            while ( ! closed && source.hasNext()) {
+                T item = source.next();
+                Future<Object[]> row = (builders == null)
+                        ? CompletableFuture.completedFuture(rowBuilder.apply(item))
+                        : builders.submit(() -> rowBuilder.apply(item));
+                if (closed) {
+                    break;
+                }
+                queue.put(row);
+            }
+            return END;
+        } catch (RuntimeException | Error e) {
+            CompletableFuture<Object[]> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Get a factory for daemon threads with the specified name prefix.
+     *
+     * @param prefix thread name prefix
+     * @return daemon thread factory
+     */
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -13,6 +13,8 @@ import org.testng.ITestResult;
  *         into a {@link Map}.</li>
  *     <li>{@link #injectAttributes(Map, ITestResult)} injects the entries of the specified {@link Map} into the
  *         attribute collection of the specified test result.</li>
+ *     <li>{@link #propagateAttributes(ITestResult, ITestResult)} copies the attribute collection of one test result
+ *         directly into another, without an intermediate {@link Map}.</li>
  * </ul>
  */
 public final class PropertyManager {
@@ -53,4 +55,30 @@ public final class PropertyManager {
         }
     }
 
+    /**
+     * Propagate the attribute collection of the specified source result into the indicated target result. Attributes
+     * are copied directly, without an intermediate {@link Map}, and attributes for which the target already holds the
+     * same value reference are skipped. As with {@link #injectAttributes(Map, ITestResult)}, {@link TrackedObject}
+     * values record the target result as an additional reference.
+     * 
+     * @param source test result from which attributes are propagated
+     * @param target test result into which attributes are propagated
+     * @return number of attributes written to the target
+     */
+    public static int propagateAttributes(ITestResult source, ITestResult target) {
+        int count = 0;
+        for (String thisName : source.getAttributeNames()) {
+            Object thisValue = source.getAttribute(thisName);
+            if (target.getAttribute(thisName) != thisValue) {
+                if (thisValue instanceof TrackedObject) {
+                    ((TrackedObject<?>) thisValue).addRef(target);
+                } else {
+                    target.setAttribute(thisName, thisValue);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
 }
@@ -1,12 +1,17 @@
 package com.nordstrom.automation.testng;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.IRetryAnalyzer;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 
 import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
@@ -23,6 +28,11 @@ import com.nordstrom.common.base.ExceptionUnwrapper;
  *     {@link TestNGSettings#MAX_RETRY MAX_RETRY} setting, which defaults to <b>0</b>.</li>
  * </ul>
  * 
+ * Managed analyzers are loaded and instantiated once, and are evaluated without locking in the order in which they
+ * are declared. Analyzers that declare {@link TestNGRetryAnalyzer#getRetriableTypes() retriable types} are only
+ * consulted for failures whose exceptions are instances of these types.
+ * <p>
+ * 
  * Prior to retrying a failed test, <b>RetryManager</b> emits a debug-level message in this format:
  * <blockquote>{@code ### RETRY ### [suite-name/test-name] className.methodName(parmValue...)}</blockquote>
  * 
@@ -41,6 +51,26 @@ import com.nordstrom.common.base.ExceptionUnwrapper;
  * The retry message for this method would include the actual user name, but redact the password:
  * <blockquote>{@code ### RETRY ### [MySuite/MyTest] AccountTest.testLogin(john.doe, |:arg1:|)}</blockquote>
  * 
+ * <b>INVOCATION LEDGER</b>
+ * <p>
+ * <b>RetryManager</b> tracks the number of retries that remain for each failed invocation in a ledger, keyed by the
+ * {@link InvocationKeyStrategy invocation key strategy} specified by the {@link TestNGSettings#INVOCATION_KEY
+ * INVOCATION_KEY} setting. By default, invocations are identified by {@link InvocationRecord} objects, which hold
+ * references to the parameters of the invocation. For tests with large or mutable parameter objects, select the
+ * {@link StandardKeyStrategy#FINGERPRINT FINGERPRINT} strategy to identify invocations by compact
+ * {@link InvocationFingerprint} values instead. To avoid retaining keys for the duration of the run, ledger entries
+ * are only kept while retries are in flight:
+ * <ul>
+ *     <li>Each entry is owned by the thread that runs the retry sequence of the invocation. TestNG retries a failed
+ *     invocation on the thread that ran it, so concurrent invocations with the same key (e.g. - parallel invocations
+ *     from {@code invocationCount} or identical data provider rows) are tracked separately.</li>
+ *     <li>The entry for an invocation is dropped when it exhausts its retries or is declined for retry.</li>
+ *     <li>The entry for an invocation is dropped by {@link ExecutionFlowController} when a retry attempt finishes
+ *     with any status other than {@code FAILURE}.</li>
+ *     <li>Entries that remain for a {@code <test>} context are dropped by {@link ExecutionFlowController} when the
+ *     context finishes.</li>
+ * </ul>
+ * 
  * <b>AUTOMATIC ATTACHMENT OF RETRYMANAGER</b>
  * <p>
  * Note that <b>RetryManager</b> is attached by {@link ExecutionFlowController} to every test method when automatic
@@ -76,18 +106,19 @@ import com.nordstrom.common.base.ExceptionUnwrapper;
  */
 public class RetryManager implements IRetryAnalyzer {
     
-    private final TestNGConfig config;
-    private final Map<InvocationRecord, Integer> invocations;
-    private final ServiceLoader<TestNGRetryAnalyzer> retryAnalyzerLoader;
+    private final InvocationKeyStrategy keyStrategy;
+    private final Map<LedgerKey, LedgerEntry> invocations;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     
+    /** retry managers with invocations that have retries in flight */
+    private static final Set<RetryManager> activeManagers = ConcurrentHashMap.newKeySet();
+    
     /**
-     * Constructor: Initialize invocation map and service loader.
+     * Constructor: Initialize invocation map and key strategy.
      */
     public RetryManager() {
-        config = TestNGConfig.getConfig();
+        keyStrategy = TestNGConfig.getSnapshot().getInvocationKeyStrategy();
         invocations = new ConcurrentHashMap<>();
-        retryAnalyzerLoader = ServiceLoader.load(TestNGRetryAnalyzer.class);
     }
     
     /**
@@ -96,27 +127,105 @@ public class RetryManager implements IRetryAnalyzer {
     @Override
     public boolean retry(final ITestResult result) {
         boolean doRetry = false;
+        RetryDecisionEvent event = new RetryDecisionEvent();
+        event.begin();
         result.setThrowable(ExceptionUnwrapper.unwrap(result.getThrowable()));
         
-        InvocationRecord invocation = new InvocationRecord(result);
-        Integer count = invocations.get(invocation);
-        
-        if (count == null) {
-            count = config.getInt(TestNGSettings.MAX_RETRY.key());
-        }
+        LedgerKey key = new LedgerKey(keyStrategy.getInvocationKey(result));
+        LedgerEntry entry = invocations.get(key);
+        int count = (entry != null) ? entry.remaining : TestNGConfig.getSnapshot(result).getMaxRetry();
         
         if (count > 0) {
-            invocations.put(invocation, --count);
             doRetry = isRetriable(result);
             
             if (doRetry) {
+                invocations.put(key, new LedgerEntry(result, --count));
+                activeManagers.add(this);
+                InvocationRecord invocation = new InvocationRecord(result);
                 logger.warn("### RETRY ### [{}/{}] {}", invocation.suiteName, invocation.testName, invocation,
                         getThrowableToLog(result));
             }
         }
         
+        // drop ledger entry for final failure
+        if (!doRetry) {
+            release(key);
+        }
+        
+        event.complete(result, count, doRetry);
         return doRetry;
     }
+    
+    /**
+     * Drop the ledger entry for the invocation that produced the specified test result.
+     * <p>
+     * <b>NOTE</b>: This method is invoked by {@link ExecutionFlowController} when a test method finishes with any
+     * status other than {@code FAILURE}, which concludes the retry sequence of the invocation (if any). Only the
+     * entry owned by the current thread is dropped; entries for other invocations with the same key are retained.
+     * 
+     * @param result TestNG test result object
+     */
+    static void releaseInvocation(final ITestResult result) {
+        InvocationKeyStrategy strategy = null;
+        LedgerKey key = null;
+        for (RetryManager manager : activeManagers) {
+            if (manager.keyStrategy != strategy) {
+                strategy = manager.keyStrategy;
+                key = new LedgerKey(strategy.getInvocationKey(result));
+            }
+            manager.release(key);
+        }
+    }
+    
+    /**
+     * Drop the ledger entries for invocations that ran in the specified test context.
+     * <p>
+     * <b>NOTE</b>: This method is invoked by {@link ExecutionFlowController} when the test context finishes.
+     * 
+     * @param context TestNG test context object
+     */
+    static void releaseInvocations(final ITestContext context) {
+        String suiteName = context.getSuite().getName();
+        String testName = context.getName();
+        for (RetryManager manager : activeManagers) {
+            manager.invocations.values().removeIf(
+                    entry -> suiteName.equals(entry.suiteName) && testName.equals(entry.testName));
+            manager.deactivateIfIdle();
+        }
+    }
+    
+    /**
+     * Get the number of invocations in the ledger of this retry manager.
+     * 
+     * @return count of invocations with retries in flight
+     */
+    int getLedgerSize() {
+        return invocations.size();
+    }
+    
+    /**
+     * Drop the ledger entry for the specified invocation.
+     * 
+     * @param key ledger key
+     */
+    private void release(final LedgerKey key) {
+        if (invocations.remove(key) != null) {
+            deactivateIfIdle();
+        }
+    }
+    
+    /**
+     * Remove this retry manager from the set of active managers if its ledger is empty.
+     */
+    private void deactivateIfIdle() {
+        if (invocations.isEmpty()) {
+            activeManagers.remove(this);
+            // re-activate if an entry was added concurrently
+            if (!invocations.isEmpty()) {
+                activeManagers.add(this);
+            }
+        }
+    }
 
     /**
      * Determine if the specified failed test should be retried.
@@ -125,11 +234,9 @@ public class RetryManager implements IRetryAnalyzer {
      * @return {@code true} if test should be retried; otherwise {@code false}
      */
     protected boolean isRetriable(final ITestResult result) {
-        synchronized(retryAnalyzerLoader) {
-            for (TestNGRetryAnalyzer analyzer : retryAnalyzerLoader) {
-                if (analyzer.retry(result)) {
-                    return true;
-                }
+        for (TestNGRetryAnalyzer analyzer : AnalyzerIndex.getAnalyzers(result.getThrowable())) {
+            if (analyzer.retry(result)) {
+                return true;
             }
         }
         return false;
@@ -142,9 +249,134 @@ public class RetryManager implements IRetryAnalyzer {
      * @return if exception logging is indicated, the exception that caused the test to fail; otherwise {@code null}
      */
     private Throwable getThrowableToLog(ITestResult result) {
-        if (logger.isDebugEnabled() || config.getBoolean(TestNGSettings.RETRY_MORE_INFO.key())) {
+        if (logger.isDebugEnabled() || TestNGConfig.getSnapshot(result).isRetryMoreInfo()) {
             return result.getThrowable();
         }
         return null;
     }
+    
+    /**
+     * This class holds the managed retry analyzers, which are loaded via the {@link ServiceLoader} when the class is
+     * initialized. For each type of failure, it caches the array of analyzers that evaluate that type.
+     */
+    private static final class AnalyzerIndex extends ClassValue<TestNGRetryAnalyzer[]> {
+        
+        private static final AnalyzerIndex INSTANCE = new AnalyzerIndex();
+        
+        private final List<TestNGRetryAnalyzer> analyzers = new ArrayList<>();
+        private final TestNGRetryAnalyzer[] unconditional;
+        
+        /**
+         * Constructor: Load and instantiate managed retry analyzers.
+         */
+        private AnalyzerIndex() {
+            List<TestNGRetryAnalyzer> anyType = new ArrayList<>();
+            for (TestNGRetryAnalyzer analyzer : ServiceLoader.load(TestNGRetryAnalyzer.class)) {
+                analyzers.add(analyzer);
+                if (analyzer.getRetriableTypes().isEmpty()) {
+                    anyType.add(analyzer);
+                }
+            }
+            unconditional = anyType.toArray(new TestNGRetryAnalyzer[0]);
+        }
+        
+        /**
+         * Get the managed analyzers that evaluate the specified failure.
+         * 
+         * @param thrown exception that caused the test to fail (may be {@code null})
+         * @return array of retry analyzers (do not modify)
+         */
+        static TestNGRetryAnalyzer[] getAnalyzers(Throwable thrown) {
+            return (thrown != null) ? INSTANCE.get(thrown.getClass()) : INSTANCE.unconditional;
+        }
+        
+        @Override
+        protected TestNGRetryAnalyzer[] computeValue(Class<?> type) {
+            List<TestNGRetryAnalyzer> matching = new ArrayList<>();
+            for (TestNGRetryAnalyzer analyzer : analyzers) {
+                if (evaluates(analyzer.getRetriableTypes(), type)) {
+                    matching.add(analyzer);
+                }
+            }
+            return matching.toArray(new TestNGRetryAnalyzer[0]);
+        }
+        
+        /**
+         * Determine if an analyzer with the specified retriable types evaluates failures of the indicated type.
+         * 
+         * @param retriableTypes types of failures evaluated by the analyzer
+         * @param type failure type
+         * @return {@code true} if the analyzer evaluates the specified failure type; otherwise {@code false}
+         */
+        private static boolean evaluates(Collection<Class<? extends Throwable>> retriableTypes, Class<?> type) {
+            if (retriableTypes.isEmpty()) {
+                return true;
+            }
+            for (Class<? extends Throwable> retriableType : retriableTypes) {
+                if (retriableType.isAssignableFrom(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * This class identifies a ledger entry by the key of the invocation and the thread that runs its retry sequence.
+     */
+    private static final class LedgerKey {
+        
+        final Object key;
+        final Thread owner;
+        
+        /**
+         * Constructor: Create ledger key for the specified invocation on the current thread.
+         * 
+         * @param key invocation key
+         */
+        LedgerKey(Object key) {
+            this.key = key;
+            this.owner = Thread.currentThread();
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + owner.hashCode();
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LedgerKey)) {
+                return false;
+            }
+            LedgerKey other = (LedgerKey) obj;
+            return (owner == other.owner) && key.equals(other.key);
+        }
+    }
+    
+    /**
+     * This class records the number of retries that remain for a failed invocation, along with the names of the
+     * suite and test in which the invocation ran.
+     */
+    private static class LedgerEntry {
+        
+        final String suiteName;
+        final String testName;
+        final int remaining;
+        
+        /**
+         * Constructor: Initialize ledger entry for the specified test result.
+         * 
+         * @param result TestNG test result object
+         * @param remaining number of retries that remain for the invocation
+         */
+        LedgerEntry(ITestResult result, int remaining) {
+            this.suiteName = result.getTestContext().getSuite().getName();
+            this.testName = result.getTestContext().getName();
+            this.remaining = remaining;
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.ITestResult;
+
+/**
+ * This enumeration defines the standard {@link InvocationKeyStrategy invocation key strategies}.
+ */
+public enum StandardKeyStrategy implements InvocationKeyStrategy {
+    
+    /**
+     * Invocations are identified by {@link InvocationRecord} objects, which hold references to the parameters of the
+     * invocation and compare them via {@link Object#equals(Object) equals}. This is the default strategy.
+     */
+    RECORD {
+        @Override
+        public Object getInvocationKey(ITestResult result) {
+            return new InvocationRecord(result);
+        }
+    },
+    
+    /**
+     * Invocations are identified by 128-bit {@link InvocationFingerprint} values, which hold no references to the
+     * parameters of the invocation. Select this strategy for tests with large parameter objects. Parameters other
+     * than strings, primitive wrappers, enumeration constants, classes, and arrays are identified by their hash
+     * codes; see {@link InvocationFingerprint} for details.
+     */
+    FINGERPRINT {
+        @Override
+        public Object getInvocationKey(ITestResult result) {
+            return InvocationFingerprint.of(result);
+        }
+    };
+    
+}
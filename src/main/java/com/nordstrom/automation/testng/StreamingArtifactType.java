@@ -0,0 +1,65 @@
+package com.nordstrom.automation.testng;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import org.testng.ITestResult;
+
+/**
+ * This class is the foundation for artifact capture providers whose artifacts are too large to be held in memory,
+ * such as page source dumps, HAR files, screen recordings, and heap or log captures. Instead of returning the artifact
+ * as a byte array, the provider opens a channel from which {@link ArtifactCollector} reads the artifact. The collector
+ * copies the channel to disk with {@link java.nio.channels.FileChannel#transferFrom FileChannel.transferFrom}, so peak
+ * memory use doesn't depend on the size of the artifact.
+ * <p>
+ * Artifacts that are produced on demand (rather than read from an existing file) can be exposed through a pipe, or
+ * through {@link java.nio.channels.Channels#newChannel(java.io.InputStream) Channels.newChannel}.
+ * <p>
+ * <b>NOTE</b>: The channel is opened on the thread of the test that failed, but it may be read on the writer thread
+ * of the collector if artifacts are written {@link TestNGConfig.TestNGSettings#ARTIFACT_QUEUE asynchronously}. The
+ * channel must therefore remain readable after the test method returns. The collector closes the channel when it's
+ * done with it.
+ */
+public abstract class StreamingArtifactType extends ArtifactType {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Open a channel from which to read an artifact from the specified context.
+     *
+     * @param result TestNG test result object
+     * @return channel from which to read the artifact; {@code null} if capture fails
+     */
+    public abstract ReadableByteChannel getArtifactChannel(ITestResult result);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: This implementation reads the entire {@link #getArtifactChannel(ITestResult) artifact channel} into
+     * memory. It's provided for clients that require the artifact as a byte array; {@link ArtifactCollector} reads the
+     * channel directly.
+     */
+    @Override
+    public byte[] getArtifact(ITestResult result) {
+        ReadableByteChannel channel = getArtifactChannel(result);
+        if (channel == null) {
+            return new byte[0];
+        }
+        try (ReadableByteChannel source = channel) {
+            ByteArrayOutputStream artifact = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (source.read(buffer) >= 0) {
+                artifact.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            return artifact.toByteArray();
+        } catch (IOException e) {
+            if (getLogger() != null) {
+                getLogger().warn("Unable to read artifact channel; no artifact was captured", e);
+            }
+            return new byte[0];
+        }
+    }
+}
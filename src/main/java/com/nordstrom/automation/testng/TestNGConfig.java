@@ -1,11 +1,13 @@
 package com.nordstrom.automation.testng;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.configuration2.ex.ConfigurationException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.Reporter;
 
@@ -21,7 +23,6 @@ public class TestNGConfig extends SettingsCore<TestNGConfig.TestNGSettings> {
     
     private static final String SETTINGS_FILE = "testng.properties";
     private static final String TESTNG_CONFIG = "TESTNG_CONFIG";
-    private static final Logger LOGGER = LoggerFactory.getLogger(TestNGConfig.class);
     
     /**
      * This enumeration declares the settings that enable you to control the parameters
@@ -67,7 +68,129 @@ public class TestNGConfig extends SettingsCore<TestNGConfig.TestNGSettings> {
          * name: <b>retry.more.info</b><br>
          * default: {@code false}
          */
-        RETRY_MORE_INFO("retry.more.info", "false");
+        RETRY_MORE_INFO("retry.more.info", "false"),
+        
+        /**
+         * This setting specifies whether {@link ListenerChain} collects per-listener timing statistics. If enabled,
+         * a summary of these statistics is logged when the chain receives the {@code onExecutionFinish} event.
+         * <p>
+         * name: <b>testng.listener.stats</b><br>
+         * default: {@code false}
+         * 
+         * @see ListenerStatistics
+         */
+        LISTENER_STATS("testng.listener.stats", "false"),
+        
+        /**
+         * This setting specifies the strategy used by {@link RetryManager} to identify failed invocations. The value
+         * is either the name of a {@link StandardKeyStrategy standard strategy} or the fully-qualified name of a class
+         * that implements {@link InvocationKeyStrategy}.
+         * <p>
+         * name: <b>testng.invocation.key</b><br>
+         * default: <b>{@link StandardKeyStrategy#RECORD RECORD}</b>
+         */
+        INVOCATION_KEY("testng.invocation.key", "RECORD"),
+        
+        /**
+         * This setting specifies the index of the shard of combinatorial data providers to be run by this node.
+         * <p>
+         * name: <b>testng.shard.index</b><br>
+         * default: <b>0</b>
+         * 
+         * @see CartesianProduct#forCurrentShard()
+         */
+        SHARD_INDEX("testng.shard.index", "0"),
+        
+        /**
+         * This setting specifies the number of shards into which combinatorial data providers are split.
+         * <p>
+         * name: <b>testng.shard.count</b><br>
+         * default: <b>1</b>
+         * 
+         * @see CartesianProduct#forCurrentShard()
+         */
+        SHARD_COUNT("testng.shard.count", "1"),
+        
+        /**
+         * This setting specifies the capacity of the queue through which {@link ArtifactCollector} hands captured
+         * artifacts to its writer thread. If this value is positive, artifacts are written asynchronously; otherwise,
+         * they're written on the thread of the test that failed.
+         * <p>
+         * name: <b>testng.artifact.queue</b><br>
+         * default: <b>0</b>
+         */
+        ARTIFACT_QUEUE("testng.artifact.queue", "0"),
+        
+        /**
+         * This setting specifies whether {@link ArtifactCollector} stores artifacts in a content-addressed layout, in
+         * which byte-identical artifacts are written once and shared via hard links.
+         * <p>
+         * name: <b>testng.artifact.dedup</b><br>
+         * default: {@code false}
+         */
+        ARTIFACT_DEDUP("testng.artifact.dedup", "false"),
+        
+        /**
+         * This setting specifies whether {@link ArtifactCollector} appends artifacts to a single ZIP archive per suite
+         * instead of writing each artifact to a separate file. If enabled, this setting takes precedence over
+         * {@link #ARTIFACT_DEDUP}.
+         * <p>
+         * name: <b>testng.artifact.archive</b><br>
+         * default: {@code false}
+         * 
+         * @see ArtifactReference
+         */
+        ARTIFACT_ARCHIVE("testng.artifact.archive", "false"),
+        
+        /**
+         * This setting specifies the total number of artifact bytes that all instances of {@link ArtifactCollector}
+         * may capture in the current run. Once this budget is exhausted, further captures are dropped. If this value
+         * is not positive, the number of bytes is unlimited.
+         * <p>
+         * name: <b>testng.artifact.run.bytes</b><br>
+         * default: <b>0</b>
+         */
+        ARTIFACT_RUN_BYTES("testng.artifact.run.bytes", "0"),
+        
+        /**
+         * This setting specifies the number of artifact bytes that each {@link ArtifactCollector} may capture in the
+         * current run. Once this budget is exhausted, further captures by the collector are dropped. If this value is
+         * not positive, the number of bytes is unlimited.
+         * <p>
+         * name: <b>testng.artifact.provider.bytes</b><br>
+         * default: <b>0</b>
+         */
+        ARTIFACT_PROVIDER_BYTES("testng.artifact.provider.bytes", "0"),
+        
+        /**
+         * This setting specifies the number of artifacts that each {@link ArtifactCollector} may capture for a single
+         * test method, across all of its invocations. The first artifacts are kept; later captures are dropped. If
+         * this value is not positive, the number of artifacts is unlimited.
+         * <p>
+         * name: <b>testng.artifact.method.count</b><br>
+         * default: <b>0</b>
+         */
+        ARTIFACT_METHOD_COUNT("testng.artifact.method.count", "0"),
+        
+        /**
+         * This setting specifies the number of failures with the same signature (exception type plus top stack
+         * frames) for which each {@link ArtifactCollector} captures artifacts. Later failures with the same signature
+         * reference the artifacts that were already captured. If this value is not positive, artifacts are captured
+         * for every failure.
+         * <p>
+         * name: <b>testng.artifact.sample.count</b><br>
+         * default: <b>0</b>
+         */
+        ARTIFACT_SAMPLE_COUNT("testng.artifact.sample.count", "0"),
+        
+        /**
+         * This setting specifies the number of stack frames that are included in the failure signatures of
+         * {@link #ARTIFACT_SAMPLE_COUNT artifact sampling}.
+         * <p>
+         * name: <b>testng.artifact.sample.frames</b><br>
+         * default: <b>5</b>
+         */
+        ARTIFACT_SAMPLE_FRAMES("testng.artifact.sample.frames", "5");
 
         private String propertyName;
         private String defaultValue;
@@ -88,16 +211,11 @@ public class TestNGConfig extends SettingsCore<TestNGConfig.TestNGSettings> {
         }
     }
     
-    private static final ThreadLocal<TestNGConfig> testNGConfig = new InheritableThreadLocal<TestNGConfig>() {
-        @Override
-        protected TestNGConfig initialValue() {
-            try {
-                return new TestNGConfig();
-            } catch (ConfigurationException | IOException e) {
-                throw UncheckedThrow.throwUnchecked(e);
-            }
-        }
-    };
+    private static final Object CONFIG_LOCK = new Object();
+    private static volatile TestNGConfig testNGConfig;
+    private static volatile ConfigSnapshot snapshot;
+    private static final ThreadLocal<ConfigSnapshot> threadSnapshot = new ThreadLocal<>();
+    private static final Map<String, ConfigSnapshot> suiteSnapshots = new ConcurrentHashMap<>();
 
     /**
      * Instantiate a <b>TestNG Foundation</b> configuration object.
@@ -113,56 +231,191 @@ public class TestNGConfig extends SettingsCore<TestNGConfig.TestNGSettings> {
      * Get the TestNG configuration object for the current context.
      * 
      * @return TestNG configuration object
+     * @see #getConfig(ITestResult)
      */
     public static TestNGConfig getConfig() {
         return getConfig(Reporter.getCurrentTestResult());
     }
     
     /**
-     * Get the TestNG configuration object for the specified context.
+     * Get the TestNG configuration object for the specified context. If the test result already holds a configuration
+     * object (e.g. - one propagated from a <i>before</i> method), that object is returned. Otherwise, the shared
+     * configuration object is attached to the test result and returned.
+     * <p>
+     * <b>NOTE</b>: Prior versions loaded a separate configuration object for each thread, which was inherited by the
+     * threads it spawned. The configuration object that's attached to new contexts is now shared by all threads, so
+     * changes made to it are visible everywhere. To apply different values of the {@link ConfigSnapshot snapshot}
+     * settings to specific threads or suites, use {@link #setThreadOverrides(Map)} or
+     * {@link #setSuiteOverrides(String, Map)}.
      * 
      * @param testResult configuration context (TestNG test result object)
      * @return TestNG configuration object
      */
     public static TestNGConfig getConfig(ITestResult testResult) {
         if (testResult == null) {
-            return testNGConfig.get();
+            return getSharedConfig();
         }
         
         TestNGConfig config = (TestNGConfig) testResult.getAttribute(TESTNG_CONFIG);
         
         if (config == null) {
-            config = testNGConfig.get();
+            config = getSharedConfig();
             testResult.setAttribute(TESTNG_CONFIG, config);
         }
         
         return config;
     }
     
+    /**
+     * Get the configuration snapshot for the current thread. This is the per-thread override (if any) or the shared
+     * snapshot.
+     * 
+     * @return configuration snapshot
+     */
+    public static ConfigSnapshot getSnapshot() {
+        ConfigSnapshot override = threadSnapshot.get();
+        return (override != null) ? override : getSharedSnapshot();
+    }
+    
+    /**
+     * Get the configuration snapshot for the specified test result. This is the per-thread override (if any), the
+     * override for the suite of the test result (if any), or the shared snapshot.
+     * 
+     * @param testResult TestNG test result object
+     * @return configuration snapshot
+     */
+    public static ConfigSnapshot getSnapshot(ITestResult testResult) {
+        ConfigSnapshot override = threadSnapshot.get();
+        if (override != null) {
+            return override;
+        }
+        if ( ! suiteSnapshots.isEmpty() && (testResult != null)) {
+            ITestContext context = testResult.getTestContext();
+            ISuite suite = (context != null) ? context.getSuite() : null;
+            if (suite != null) {
+                override = suiteSnapshots.get(suite.getName());
+                if (override != null) {
+                    return override;
+                }
+            }
+        }
+        return getSharedSnapshot();
+    }
+    
+    /**
+     * Replace the shared configuration snapshot with one that reflects the current configuration. Use this method
+     * after changing settings (e.g. - via System properties) at runtime.
+     * 
+     * @return new shared configuration snapshot
+     */
+    public static ConfigSnapshot refreshSnapshot() {
+        ConfigSnapshot newSnapshot = new ConfigSnapshot(getSharedConfig());
+        snapshot = newSnapshot;
+        return newSnapshot;
+    }
+    
+    /**
+     * Layer the specified overrides on top of the shared snapshot for the current thread.
+     * 
+     * @param overrides map of settings to their overriding values
+     */
+    public static void setThreadOverrides(Map<TestNGSettings, String> overrides) {
+        threadSnapshot.set(getSharedSnapshot().withOverrides(overrides));
+    }
+    
+    /**
+     * Remove the overrides for the current thread.
+     */
+    public static void clearThreadOverrides() {
+        threadSnapshot.remove();
+    }
+    
+    /**
+     * Layer the specified overrides on top of the shared snapshot for the indicated suite.
+     * 
+     * @param suiteName suite name
+     * @param overrides map of settings to their overriding values
+     */
+    public static void setSuiteOverrides(String suiteName, Map<TestNGSettings, String> overrides) {
+        suiteSnapshots.put(suiteName, getSharedSnapshot().withOverrides(overrides));
+    }
+    
+    /**
+     * Remove the overrides for the specified suite.
+     * 
+     * @param suiteName suite name
+     */
+    public static void clearSuiteOverrides(String suiteName) {
+        suiteSnapshots.remove(suiteName);
+    }
+    
+    /**
+     * Get the shared configuration snapshot, creating it on first use.
+     * 
+     * @return shared configuration snapshot
+     */
+    private static ConfigSnapshot getSharedSnapshot() {
+        ConfigSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (CONFIG_LOCK) {
+                current = snapshot;
+                if (current == null) {
+                    current = new ConfigSnapshot(getSharedConfig());
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Get the configuration object that's shared by all threads, loading it on first use.
+     * <p>
+     * <b>NOTE</b>: A single configuration object is shared instead of one per thread, which would be loaded anew for
+     * each of the potentially thousands of worker threads (e.g. - virtual threads) and copied into every thread they
+     * spawn.
+     * 
+     * @return shared TestNG configuration object
+     */
+    private static TestNGConfig getSharedConfig() {
+        TestNGConfig config = testNGConfig;
+        if (config == null) {
+            synchronized (CONFIG_LOCK) {
+                config = testNGConfig;
+                if (config == null) {
+                    try {
+                        config = new TestNGConfig();
+                    } catch (ConfigurationException | IOException e) {
+                        throw UncheckedThrow.throwUnchecked(e);
+                    }
+                    testNGConfig = config;
+                }
+            }
+        }
+        return config;
+    }
+    
     /**
      * Get class object indicated as the retry analyzer.
      *   
      * @return retry analyzer class object (may be 'null')
      */
-    @SuppressWarnings("unchecked")
     public Class<IRetryAnalyzer> getRetryAnalyzerClass() {
         if (getInt(TestNGSettings.MAX_RETRY.key()) > 0) {
-            String retryAnalyzerName = getString(TestNGSettings.RETRY_ANALYZER.key());
-            if ((retryAnalyzerName == null) || retryAnalyzerName.isEmpty()) {
-                LOGGER.warn("Value of setting [{}] is undefined", TestNGSettings.RETRY_ANALYZER.key());
-            } else {
-                try {
-                    return (Class<IRetryAnalyzer>) Class.forName(retryAnalyzerName);
-                } catch (ClassNotFoundException e) {
-                    LOGGER.warn("Specified retry analyzer class '{}' not found", retryAnalyzerName);
-                } catch (ClassCastException e) {
-                    LOGGER.warn("Specified retry analyzer '{}' does not implement IRetryAnalyzer", retryAnalyzerName);
-                }
-            }
+            return ConfigSnapshot.resolveRetryAnalyzer(getString(TestNGSettings.RETRY_ANALYZER.key()));
         }
         return null;
     }
     
+    /**
+     * Get the strategy used by {@link RetryManager} to identify failed invocations.
+     * 
+     * @return invocation key strategy; {@link StandardKeyStrategy#RECORD RECORD} if the indicated strategy is invalid
+     */
+    public InvocationKeyStrategy getInvocationKeyStrategy() {
+        return ConfigSnapshot.resolveKeyStrategy(getString(TestNGSettings.INVOCATION_KEY.key()));
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -1,9 +1,15 @@
 package com.nordstrom.automation.testng;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import org.testng.ITestResult;
 
 /**
- * <b>TestNG Foundation</b> retry analyzers implement this interface. 
+ * <b>TestNG Foundation</b> retry analyzers implement this interface.
+ * <p>
+ * <b>NOTE</b>: {@link RetryManager} instantiates each analyzer once and evaluates it concurrently from all threads
+ * that report failed tests, so implementations must be thread-safe.
  */
 public interface TestNGRetryAnalyzer {
 
@@ -15,4 +21,14 @@ public interface TestNGRetryAnalyzer {
      */
     boolean retry(final ITestResult result);
     
+    /**
+     * Get the types of failures that this analyzer evaluates. If this collection is non-empty, {@link RetryManager}
+     * only consults this analyzer for failed tests whose exceptions are instances of the specified types.
+     * 
+     * @return types of failures evaluated by this analyzer; empty (the default) to evaluate all failures
+     */
+    default Collection<Class<? extends Throwable>> getRetriableTypes() {
+        return Collections.emptyList();
+    }
+    
 }
@@ -0,0 +1,452 @@
+package com.nordstrom.automation.testng;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IClassListener;
+import org.testng.IConfigurationListener;
+import org.testng.IDataProviderListener;
+import org.testng.IDataProviderMethod;
+import org.testng.IExecutionListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.IConfigurationAnnotation;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.annotations.IFactoryAnnotation;
+import org.testng.annotations.IListenersAnnotation;
+import org.testng.annotations.ITestAnnotation;
+
+/**
+ * This class wraps a listener attached to a {@link AbstractListenerChain listener chain} to record the statistics
+ * collected by {@link ListenerStatistics} and to emit {@link ListenerDispatchEvent} flight recorder events. It
+ * implements every listener interface dispatched by the chain, but the chain only routes an event through this wrapper
+ * if the wrapped listener handles that event.
+ */
+class TimedListener implements IAnnotationTransformer, IExecutionListener, ISuiteListener, IConfigurationListener,
+        IInvokedMethodListener, ITestListener, IMethodInterceptor, IClassListener, IDataProviderListener {
+    
+    final ITestNGListener listener;
+    final ListenerStatistics.EventStatistics[] statistics;
+    final boolean recordEvents;
+    
+    /**
+     * Constructor: Wrap the specified listener.
+     * 
+     * @param listener listener to be wrapped
+     * @param statistics event statistics of the listener; {@code null} if statistics are disabled
+     * @param recordEvents {@code true} to emit flight recorder events for each dispatch
+     */
+    TimedListener(ITestNGListener listener, ListenerStatistics.EventStatistics[] statistics, boolean recordEvents) {
+        this.listener = listener;
+        this.statistics = statistics;
+        this.recordEvents = recordEvents;
+    }
+    
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testCtor, Method testMethod) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IAnnotationTransformer) listener).transform(annotation, testClass, testCtor, testMethod);
+        } finally {
+            record(ListenerEvent.TRANSFORM_TEST, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(IConfigurationAnnotation annotation, Class testClass, Constructor testCtor,
+            Method testMethod) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IAnnotationTransformer) listener).transform(annotation, testClass, testCtor, testMethod);
+        } finally {
+            record(ListenerEvent.TRANSFORM_CONFIGURATION, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IAnnotationTransformer) listener).transform(annotation, method);
+        } finally {
+            record(ListenerEvent.TRANSFORM_DATA_PROVIDER, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void transform(IFactoryAnnotation annotation, Method method) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IAnnotationTransformer) listener).transform(annotation, method);
+        } finally {
+            record(ListenerEvent.TRANSFORM_FACTORY, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(IListenersAnnotation annotation, Class testClass) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IAnnotationTransformer) listener).transform(annotation, testClass);
+        } finally {
+            record(ListenerEvent.TRANSFORM_LISTENERS, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onExecutionStart() {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IExecutionListener) listener).onExecutionStart();
+        } finally {
+            record(ListenerEvent.EXECUTION_START, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onExecutionFinish() {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IExecutionListener) listener).onExecutionFinish();
+        } finally {
+            record(ListenerEvent.EXECUTION_FINISH, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ISuiteListener) listener).onStart(suite);
+        } finally {
+            record(ListenerEvent.SUITE_START, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ISuiteListener) listener).onFinish(suite);
+        } finally {
+            record(ListenerEvent.SUITE_FINISH, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void beforeConfiguration(ITestResult tr) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IConfigurationListener) listener).beforeConfiguration(tr);
+        } finally {
+            record(ListenerEvent.BEFORE_CONFIGURATION, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void beforeConfiguration(ITestResult tr, ITestNGMethod tm) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IConfigurationListener) listener).beforeConfiguration(tr, tm);
+        } finally {
+            record(ListenerEvent.BEFORE_CONFIGURATION_WITH_METHOD, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult itr) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IConfigurationListener) listener).onConfigurationSuccess(itr);
+        } finally {
+            record(ListenerEvent.CONFIGURATION_SUCCESS, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult itr) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IConfigurationListener) listener).onConfigurationFailure(itr);
+        } finally {
+            record(ListenerEvent.CONFIGURATION_FAILURE, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onConfigurationSkip(ITestResult itr) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IConfigurationListener) listener).onConfigurationSkip(itr);
+        } finally {
+            record(ListenerEvent.CONFIGURATION_SKIP, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IInvokedMethodListener) listener).beforeInvocation(method, testResult);
+        } finally {
+            record(ListenerEvent.BEFORE_INVOCATION, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IInvokedMethodListener) listener).afterInvocation(method, testResult);
+        } finally {
+            record(ListenerEvent.AFTER_INVOCATION, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onTestStart(result);
+        } finally {
+            record(ListenerEvent.TEST_START, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onTestSuccess(result);
+        } finally {
+            record(ListenerEvent.TEST_SUCCESS, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onTestFailure(result);
+        } finally {
+            record(ListenerEvent.TEST_FAILURE, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onTestSkipped(result);
+        } finally {
+            record(ListenerEvent.TEST_SKIPPED, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onTestFailedButWithinSuccessPercentage(result);
+        } finally {
+            record(ListenerEvent.TEST_FAILED_WITHIN_PERCENTAGE, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onStart(ITestContext context) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onStart(context);
+        } finally {
+            record(ListenerEvent.CONTEXT_START, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((ITestListener) listener).onFinish(context);
+        } finally {
+            record(ListenerEvent.CONTEXT_FINISH, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return ((IMethodInterceptor) listener).intercept(methods, context);
+        } finally {
+            record(ListenerEvent.INTERCEPT, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onBeforeClass(ITestClass testClass) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IClassListener) listener).onBeforeClass(testClass);
+        } finally {
+            record(ListenerEvent.BEFORE_CLASS, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onAfterClass(ITestClass testClass) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IClassListener) listener).onAfterClass(testClass);
+        } finally {
+            record(ListenerEvent.AFTER_CLASS, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void beforeDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+            ITestContext context) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IDataProviderListener) listener).beforeDataProviderExecution(dataProviderMethod, method, context);
+        } finally {
+            record(ListenerEvent.BEFORE_DATA_PROVIDER, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void afterDataProviderExecution(IDataProviderMethod dataProviderMethod, ITestNGMethod method,
+            ITestContext context) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IDataProviderListener) listener).afterDataProviderExecution(dataProviderMethod, method, context);
+        } finally {
+            record(ListenerEvent.AFTER_DATA_PROVIDER, start, bytes, dispatchEvent);
+        }
+    }
+
+    @Override
+    public void onDataProviderFailure(ITestNGMethod method, ITestContext context, RuntimeException exception) {
+        ListenerDispatchEvent dispatchEvent = beginEvent();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            ((IDataProviderListener) listener).onDataProviderFailure(method, context, exception);
+        } finally {
+            record(ListenerEvent.DATA_PROVIDER_FAILURE, start, bytes, dispatchEvent);
+        }
+    }
+
+    /**
+     * Begin the flight recorder event for a single dispatch.
+     * 
+     * @return flight recorder event; {@code null} if events aren't being recorded
+     */
+    private ListenerDispatchEvent beginEvent() {
+        if (recordEvents) {
+            ListenerDispatchEvent dispatchEvent = new ListenerDispatchEvent();
+            dispatchEvent.begin();
+            return dispatchEvent;
+        }
+        return null;
+    }
+    
+    /**
+     * Get the number of bytes allocated by the current thread so far.
+     * 
+     * @return allocated bytes; -1 if statistics are disabled or allocation tracking isn't supported
+     */
+    private long allocatedBytes() {
+        return (statistics != null) ? ListenerStatistics.allocatedBytes() : -1;
+    }
+    
+    /**
+     * Record a single dispatch of the specified event.
+     * 
+     * @param event listener event
+     * @param start {@link System#nanoTime()} value at the start of dispatch
+     * @param bytes allocated bytes of the current thread at the start of dispatch; negative if unknown
+     * @param dispatchEvent flight recorder event for this dispatch; {@code null} if events aren't being recorded
+     */
+    private void record(ListenerEvent event, long start, long bytes, ListenerDispatchEvent dispatchEvent) {
+        if (dispatchEvent != null) {
+            dispatchEvent.complete(listener.getClass(), event);
+        }
+        if (statistics != null) {
+            long nanos = System.nanoTime() - start;
+            long allocated = (bytes < 0) ? -1 : ListenerStatistics.allocatedBytes() - bytes;
+            statistics[event.ordinal()].record(nanos, allocated);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.Reporter;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+class VirtualThreadClass {
+    
+    protected static final String ATTRIBUTE = "ATTRIBUTE";
+    protected static final Set<String> virtualMethods = ConcurrentHashMap.newKeySet();
+    
+    @BeforeMethod
+    public void beforeMethod(Method method) {
+        Reporter.getCurrentTestResult().setAttribute(ATTRIBUTE, method.getName());
+    }
+    
+    @Test(invocationCount = 100)
+    public void testMethod() throws InterruptedException {
+        verifyInvocation("testMethod");
+    }
+    
+    @Test
+    public void otherMethod() throws InterruptedException {
+        verifyInvocation("otherMethod");
+    }
+    
+    private static void verifyInvocation(String methodName) throws InterruptedException {
+        assertTrue(Thread.currentThread().isVirtual(), "Method should run on a virtual thread");
+        assertEquals(Reporter.getCurrentTestResult().getAttribute(ATTRIBUTE), methodName,
+                "Incorrect propagated attribute");
+        // simulate I/O wait
+        Thread.sleep(50);
+        virtualMethods.add(methodName);
+    }
+}
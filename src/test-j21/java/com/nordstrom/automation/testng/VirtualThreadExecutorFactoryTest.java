@@ -0,0 +1,38 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.testng.ITestNGListener;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite.ParallelMode;
+
+public class VirtualThreadExecutorFactoryTest {
+    
+    @Test
+    public void testVirtualThreadExecution() {
+        
+        ExecutionFlowController efc = new ExecutionFlowController();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{VirtualThreadClass.class});
+        testNG.addListener((ITestNGListener) efc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.setParallel(ParallelMode.METHODS);
+        testNG.setThreadCount(200);
+        testNG.setExecutorServiceFactory(new VirtualThreadExecutorFactory());
+        testNG.run();
+        
+        assertEquals(tla.getFailedTests().size(), 0, "Unexpected test method failure");
+        assertEquals(tla.getConfigurationFailures().size(), 0, "Unexpected configuration method failure");
+        assertEquals(tla.getPassedTests().size(), 101, "Incorrect passed test count");
+        assertEquals(VirtualThreadClass.virtualMethods, new HashSet<>(Arrays.asList("testMethod", "otherMethod")),
+                "Methods should run on virtual threads");
+        
+    }
+}
@@ -0,0 +1,56 @@
+package com.nordstrom.automation.testng;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@LinkedListeners({ExecutionFlowController.class})
+class AbandonedPrefetchClass {
+    
+    protected static final int CONSUMED = 2;
+    
+    protected static final AtomicReference<Thread> producer = new AtomicReference<>();
+    protected static PrefetchIterator<Object[]> iterator;
+    
+    @DataProvider(name = "rows")
+    public Iterator<Object[]> rows() {
+        iterator = DataProviders.createPrefetchIterator(new Iterator<Object[]>() {
+            int count = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+            
+            @Override
+            public Object[] next() {
+                producer.set(Thread.currentThread());
+                return new Object[] {count++};
+            }
+        }, 2);
+        
+        // the consumer stops iterating before the source is exhausted
+        return new Iterator<Object[]>() {
+            int count = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return (count < CONSUMED) && iterator.hasNext();
+            }
+            
+            @Override
+            public Object[] next() {
+                count++;
+                return iterator.next();
+            }
+        };
+    }
+    
+    @Test(dataProvider = "rows")
+    public void testAbandoned(int row) {
+        throw new SkipException("Skip consumer of row " + row);
+    }
+}
@@ -0,0 +1,92 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.testng.UnitTestStreamingArtifact.PatternChannel;
+
+public class ArtifactArchiveTest {
+    
+    @Test
+    public void verifyArchiveContents() throws IOException {
+        Path archivePath = Files.createTempDirectory("archive").resolve("suite.zip");
+        
+        ArtifactReference first;
+        ArtifactReference second;
+        ArtifactReference large;
+        try (ArtifactArchive archive = new ArtifactArchive(archivePath)) {
+            first = archive.append("testName", "txt", channelOf("first artifact"));
+            second = archive.append("testName", "txt", channelOf("second artifact"));
+            assertNull(archive.append("emptyName", "txt", channelOf("")), "Empty artifact should not be archived");
+            large = archive.append("largeName", "bin", new PatternChannel(UnitTestStreamingArtifact.ARTIFACT_SIZE));
+            
+            // random-access read-back while the archive is still open
+            assertEquals(text(second), "second artifact", "Incorrect second artifact");
+            assertEquals(text(first), "first artifact", "Incorrect first artifact");
+        }
+        
+        assertEquals(first.getEntryName(), "testName.txt", "Incorrect first entry name");
+        assertEquals(second.getEntryName(), "testName-1.txt", "Incorrect second entry name");
+        assertEquals(large.getSize(), UnitTestStreamingArtifact.ARTIFACT_SIZE, "Incorrect large entry size");
+        
+        // sequential read verifies headers, sizes, and checksums
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archivePath))) {
+            assertEquals(readEntry(zip, "testName.txt"), "first artifact".getBytes(StandardCharsets.UTF_8));
+            assertEquals(readEntry(zip, "testName-1.txt"), "second artifact".getBytes(StandardCharsets.UTF_8));
+            assertEquals(readEntry(zip, "largeName.bin"), large.readBytes(), "Incorrect large entry content");
+            assertNull(zip.getNextEntry(), "Unexpected archive entry");
+        }
+    }
+    
+    @Test
+    public void verifyClosedArchive() throws IOException {
+        Path archivePath = Files.createTempDirectory("archive").resolve("suite.zip");
+        ArtifactArchive archive = new ArtifactArchive(archivePath);
+        archive.close();
+        archive.close();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archivePath))) {
+            assertNull(zip.getNextEntry(), "Empty archive should have no entries");
+        }
+        try {
+            archive.append("testName", "txt", channelOf("late artifact"));
+            fail("Append to closed archive should fail");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+    
+    private static ReadableByteChannel channelOf(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static String text(ArtifactReference reference) throws IOException {
+        return new String(reference.readBytes(), StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] readEntry(ZipInputStream zip, String name) throws IOException {
+        ZipEntry entry = zip.getNextEntry();
+        assertEquals(entry.getName(), name, "Incorrect entry name");
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = zip.read(buffer)) >= 0) {
+            content.write(buffer, 0, count);
+        }
+        return content.toByteArray();
+    }
+    
+}
@@ -2,15 +2,34 @@ package com.nordstrom.automation.testng;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
 import org.testng.ITestNGListener;
 import org.testng.ITestResult;
 import org.testng.TestListenerAdapter;
 import org.testng.TestNG;
 import org.testng.annotations.Test;
 
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
 import com.nordstrom.automation.testng.UnitTestArtifact.CaptureState;
 
 public class ArtifactCollectorTest {
@@ -65,6 +84,272 @@ public class ArtifactCollectorTest {
         assertTrue(UnitTestCapture.getArtifactPath(result).isPresent(), "Artifact capture output path is not present");
     }
     
+    @Test
+    public void verifyAsyncCapture() {
+        
+        TestListenerAdapter tla = runWithSetting("testFailed", TestNGSettings.ARTIFACT_QUEUE, "2");
+        assertEquals(tla.getFailedTests().size(), 1, "Incorrect failed test count");
+        
+        ITestResult result = tla.getFailedTests().get(0);
+        assertEquals(UnitTestArtifact.getCaptureState(result), CaptureState.CAPTURE_SUCCESS, "Incorrect artifact provider capture state");
+        assertFalse(UnitTestCapture.getArtifactPath(result).isPresent(), "Queued artifact path should not be present");
+        
+        // artifact was written by the time the run finished
+        Optional<List<Path>> artifactPaths = ArtifactCollector.retrieveArtifactPaths(result);
+        assertTrue(artifactPaths.isPresent(), "Artifact paths were not recorded");
+        assertEquals(artifactPaths.get().size(), 1, "Incorrect artifact path count");
+        assertTrue(Files.exists(artifactPaths.get().get(0)), "Artifact file was not written");
+    }
+    
+    @Test
+    public void verifyAsyncCaptureRecordedOnListenerThread() {
+        
+        TestListenerAdapter tla = runWithSetting(StreamingArtifactTestCases.class, "asyncCapture",
+                TestNGSettings.ARTIFACT_QUEUE, "2");
+        assertEquals(tla.getPassedTests().size(), 1, "Incorrect passed test count");
+        
+        // the path was recorded once the test context finished
+        Optional<List<Path>> artifactPaths = ArtifactCollector.retrieveArtifactPaths(tla.getPassedTests().get(0));
+        assertTrue(artifactPaths.isPresent(), "Artifact paths were not recorded");
+        assertEquals(artifactPaths.get().size(), 1, "Incorrect artifact path count");
+    }
+    
+    @Test
+    public void verifyStreamingCapture() throws IOException {
+        
+        ListenerChain lc = new ListenerChain();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{StreamingArtifactTestCases.class});
+        testNG.addListener((ITestNGListener) lc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.setGroups("testFailed");
+        testNG.run();
+        
+        assertEquals(tla.getFailedTests().size(), 1, "Incorrect failed test count");
+        
+        ITestResult result = tla.getFailedTests().get(0);
+        Optional<List<Path>> artifactPaths = ArtifactCollector.retrieveArtifactPaths(result);
+        assertTrue(artifactPaths.isPresent(), "Artifact paths were not recorded");
+        assertEquals(Files.size(artifactPaths.get().get(0)), UnitTestStreamingArtifact.ARTIFACT_SIZE,
+                "Incorrect streamed artifact size");
+    }
+    
+    @Test
+    public void verifyDedupCapture() throws IOException {
+        
+        Path[] artifactPaths = new Path[2];
+        for (int i = 0; i < artifactPaths.length; i++) {
+            TestListenerAdapter tla = runWithSetting("testFailed", TestNGSettings.ARTIFACT_DEDUP, "true");
+            assertEquals(tla.getFailedTests().size(), 1, "Incorrect failed test count");
+            artifactPaths[i] = UnitTestCapture.getArtifactPath(tla.getFailedTests().get(0)).get();
+        }
+        
+        // identical artifacts get distinct names, but share a single blob
+        assertNotEquals(artifactPaths[0], artifactPaths[1], "Artifact paths should be distinct");
+        assertTrue(Files.isSameFile(artifactPaths[0], artifactPaths[1]), "Identical artifacts should share a blob");
+        assertTrue(Files.isDirectory(artifactPaths[0].resolveSibling(ArtifactStore.BLOB_DIRECTORY)),
+                "Blob directory not found");
+    }
+    
+    @Test
+    public void verifyConcurrentDedupCapture() throws Exception {
+        
+        Path collectionPath = Files.createTempDirectory("dedup-");
+        byte[] content = "identical artifact".getBytes(StandardCharsets.UTF_8);
+        int writers = 8;
+        CyclicBarrier barrier = new CyclicBarrier(writers);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<Path>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                Path artifactPath = Files.createFile(collectionPath.resolve("artifact-" + i + ".txt"));
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    ArtifactStore.store(collectionPath, "txt", (target, digest) -> {
+                        Files.write(target, content);
+                        digest.update(content);
+                        return content.length;
+                    }, artifactPath);
+                    return artifactPath;
+                }));
+            }
+            for (Future<Path> future : futures) {
+                Path artifactPath = future.get(10, TimeUnit.SECONDS);
+                assertEquals(Files.readAllBytes(artifactPath), content, "Incorrect artifact content");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        // every writer published or reused the same blob, and no temporary files remain
+        try (Stream<Path> blobs = Files.list(collectionPath.resolve(ArtifactStore.BLOB_DIRECTORY))) {
+            assertEquals(blobs.count(), 1L, "Concurrent writers of identical content should share one blob");
+        }
+    }
+    
+    @Test
+    public void verifyArchiveCapture() throws IOException {
+        
+        TestListenerAdapter tla = runWithSetting("testFailed", TestNGSettings.ARTIFACT_ARCHIVE, "true");
+        assertEquals(tla.getFailedTests().size(), 1, "Incorrect failed test count");
+        
+        ITestResult result = tla.getFailedTests().get(0);
+        assertFalse(ArtifactCollector.retrieveArtifactPaths(result).isPresent(), "Archived artifact paths should not be recorded");
+        Optional<List<ArtifactReference>> references = ArtifactCollector.retrieveArtifactReferences(result);
+        assertTrue(references.isPresent(), "Artifact references were not recorded");
+        
+        ArtifactReference reference = references.get().get(0);
+        assertEquals(UnitTestCapture.getArtifactPath(result).get(), reference.getArchivePath(), "Incorrect archive path");
+        String expected = "This text artifact was captured for 'testFailed'";
+        assertEquals(new String(reference.readBytes(), StandardCharsets.UTF_8), expected, "Incorrect archived artifact");
+        
+        // archive was closed when the suite finished, so standard tools can read it
+        try (ZipFile zipFile = new ZipFile(reference.getArchivePath().toFile())) {
+            ZipEntry entry = zipFile.getEntry(reference.getEntryName());
+            assertEquals(entry.getSize(), expected.length(), "Incorrect archive entry size");
+        }
+    }
+    
+    @Test
+    public void verifyMethodCountBudget() {
+        // the first two artifacts are kept; the third is dropped
+        assertEquals(runRepeatCapture(TestNGSettings.ARTIFACT_METHOD_COUNT, "2").size(), 2, "Incorrect artifact count");
+    }
+    
+    @Test
+    public void verifyEmptyCaptureRefundsMethodCount() {
+        // the empty capture doesn't count; the next two artifacts are kept
+        assertEquals(runRepeatCapture("emptyThenRepeatCapture", TestNGSettings.ARTIFACT_METHOD_COUNT, "2").size(), 2,
+                "Incorrect artifact count");
+    }
+    
+    @Test
+    public void verifyProviderBytesBudget() {
+        // the first artifact exhausts the budget
+        assertEquals(runRepeatCapture(TestNGSettings.ARTIFACT_PROVIDER_BYTES, "1").size(), 1, "Incorrect artifact count");
+    }
+    
+    @Test
+    public void verifyRunBytesBudget() {
+        ArtifactBudget.resetRunBytes();
+        // the first artifact exhausts the budget
+        assertEquals(runRepeatCapture(TestNGSettings.ARTIFACT_RUN_BYTES, "1").size(), 1, "Incorrect artifact count");
+    }
+    
+    @Test
+    public void verifySampledCapture() {
+        
+        TestListenerAdapter tla = runWithSetting("sampledFailure", TestNGSettings.ARTIFACT_SAMPLE_COUNT, "1");
+        assertEquals(tla.getFailedTests().size(), 3, "Incorrect failed test count");
+        List<ITestResult> results = new ArrayList<>(tla.getFailedTests());
+        results.sort(Comparator.comparing(result -> (Integer) result.getParameters()[0]));
+        
+        // only the first failure with the shared signature is captured
+        ITestResult sampled = results.get(0);
+        assertEquals(UnitTestArtifact.getCaptureState(sampled), CaptureState.CAPTURE_SUCCESS, "Incorrect artifact provider capture state");
+        List<Path> expected = ArtifactCollector.retrieveArtifactPaths(sampled).get();
+        assertEquals(expected.size(), 1, "Incorrect artifact count");
+        
+        // later failures reference the sampled artifact
+        for (ITestResult result : results.subList(1, results.size())) {
+            assertEquals(UnitTestArtifact.getCaptureState(result), CaptureState.ABLE_TO_CAPTURE, "Artifact should not have been captured");
+            assertFalse(UnitTestCapture.getArtifactPath(result).isPresent(), "Artifact capture output path should not be present");
+            assertEquals(ArtifactCollector.retrieveArtifactPaths(result).get(), expected, "Incorrect referenced artifact paths");
+        }
+    }
+    
+    @Test
+    public void verifyEmptyCaptureRefundsSample() {
+        
+        TestListenerAdapter tla = runWithSetting("emptyFirstSample", TestNGSettings.ARTIFACT_SAMPLE_COUNT, "1");
+        assertEquals(tla.getFailedTests().size(), 3, "Incorrect failed test count");
+        List<ITestResult> results = new ArrayList<>(tla.getFailedTests());
+        results.sort(Comparator.comparing(result -> (Integer) result.getParameters()[0]));
+        
+        // the first failure captures nothing, so it doesn't use up the sample
+        assertEquals(UnitTestArtifact.getCaptureState(results.get(0)), CaptureState.CAPTURE_FAILED, "Incorrect artifact provider capture state");
+        assertFalse(ArtifactCollector.retrieveArtifactPaths(results.get(0)).isPresent(), "Artifact paths should not be recorded");
+        
+        // the second failure is captured instead, and the third references it
+        ITestResult sampled = results.get(1);
+        assertEquals(UnitTestArtifact.getCaptureState(sampled), CaptureState.CAPTURE_SUCCESS, "Incorrect artifact provider capture state");
+        List<Path> expected = ArtifactCollector.retrieveArtifactPaths(sampled).get();
+        assertEquals(expected.size(), 1, "Incorrect artifact count");
+        assertEquals(UnitTestArtifact.getCaptureState(results.get(2)), CaptureState.ABLE_TO_CAPTURE, "Artifact should not have been captured");
+        assertEquals(ArtifactCollector.retrieveArtifactPaths(results.get(2)).get(), expected, "Incorrect referenced artifact paths");
+    }
+    
+    /**
+     * Run the 'repeatCapture' test with the specified budget setting.
+     * 
+     * @param setting budget setting
+     * @param value budget value
+     * @return list of captured artifact paths
+     */
+    private static List<Path> runRepeatCapture(TestNGSettings setting, String value) {
+        return runRepeatCapture("repeatCapture", setting, value);
+    }
+    
+    /**
+     * Run the repeated capture test of the specified group with the indicated budget setting.
+     * 
+     * @param group test group to run
+     * @param setting budget setting
+     * @param value budget value
+     * @return list of captured artifact paths
+     */
+    private static List<Path> runRepeatCapture(String group, TestNGSettings setting, String value) {
+        TestListenerAdapter tla = runWithSetting(group, setting, value);
+        assertEquals(tla.getPassedTests().size(), 1, "Incorrect passed test count");
+        Optional<List<Path>> artifactPaths = ArtifactCollector.retrieveArtifactPaths(tla.getPassedTests().get(0));
+        assertTrue(artifactPaths.isPresent(), "Artifact paths were not recorded");
+        return artifactPaths.get();
+    }
+    
+    /**
+     * Run the test cases of the specified group with the indicated setting. The setting is cleared when the run
+     * finishes.
+     * 
+     * @param group test group to run
+     * @param setting collector setting
+     * @param value setting value
+     * @return listener that recorded the test results
+     */
+    private static TestListenerAdapter runWithSetting(String group, TestNGSettings setting, String value) {
+        return runWithSetting(ArtifactCollectorTestCases.class, group, setting, value);
+    }
+    
+    /**
+     * Run the tests of the specified group in the indicated test class with the specified setting. The setting is
+     * cleared when the run finishes.
+     * 
+     * @param testClass test class to run
+     * @param group test group to run
+     * @param setting collector setting
+     * @param value setting value
+     * @return listener that recorded the test results
+     */
+    private static TestListenerAdapter runWithSetting(Class<?> testClass, String group, TestNGSettings setting,
+            String value) {
+        ListenerChain lc = new ListenerChain();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        System.setProperty(setting.key(), value);
+        try {
+            TestNG testNG = new TestNG();
+            testNG.setTestClasses(new Class[]{testClass});
+            testNG.addListener((ITestNGListener) lc);
+            testNG.addListener((ITestNGListener) tla);
+            testNG.setGroups(group);
+            testNG.run();
+        } finally {
+            System.clearProperty(setting.key());
+        }
+        return tla;
+    }
+    
     @Test
     public void verifyCanNotCapture() {
         
@@ -7,6 +7,7 @@ import java.util.Optional;
 
 import org.testng.ITestResult;
 import org.testng.Reporter;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 @LinkedListeners({UnitTestCapture.class, ExecutionFlowController.class})
@@ -46,6 +47,46 @@ public class ArtifactCollectorTestCases {
         getListener().captureArtifact(Reporter.getCurrentTestResult());
     }
     
+    @Test(groups = {"repeatCapture"})
+    public void testRepeatCapture() {
+        System.out.println("repeatCapture");
+        for (int i = 0; i < 3; i++) {
+            getListener().captureArtifact(Reporter.getCurrentTestResult());
+        }
+    }
+    
+    @Test(groups = {"emptyThenRepeatCapture"})
+    public void testEmptyThenRepeatCapture() {
+        System.out.println("emptyThenRepeatCapture");
+        ITestResult result = Reporter.getCurrentTestResult();
+        UnitTestArtifact.crippleCapture(result);
+        getListener().captureArtifact(result);
+        UnitTestArtifact.restoreCapture(result);
+        for (int i = 0; i < 3; i++) {
+            getListener().captureArtifact(result);
+        }
+    }
+    
+    @Test(groups = {"sampledFailure"}, dataProvider = "samples")
+    public void testSampledFailure(int sample) {
+        System.out.println("sampledFailure: " + sample);
+        fail("sampledFailure");
+    }
+    
+    @Test(groups = {"emptyFirstSample"}, dataProvider = "samples")
+    public void testEmptyFirstSample(int sample) {
+        System.out.println("emptyFirstSample: " + sample);
+        if (sample == 1) {
+            UnitTestArtifact.crippleCapture(Reporter.getCurrentTestResult());
+        }
+        fail("emptyFirstSample");
+    }
+    
+    @DataProvider(name = "samples")
+    public Object[][] samples() {
+        return new Object[][] {{1}, {2}, {3}};
+    }
+    
     private UnitTestCapture getListener() {
         ITestResult result = Reporter.getCurrentTestResult();
         Optional<UnitTestCapture> optional = AbstractListenerChain.getAttachedListener(result, UnitTestCapture.class);
@@ -0,0 +1,69 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+public class ArtifactNameAllocatorTest {
+    
+    @Test
+    public void verifySeededNames() throws IOException {
+        Path directory = Files.createTempDirectory("allocator");
+        Files.createFile(directory.resolve("testName.txt"));
+        Files.createFile(directory.resolve("testName-4.txt"));
+        Files.createFile(directory.resolve("testName-x.txt"));
+        Files.createFile(directory.resolve("other-2.txt"));
+        Files.createFile(directory.resolve("other-9.png"));
+        
+        assertEquals(nextName(directory, "testName"), "testName-5.txt", "Incorrect name after existing sequence");
+        assertEquals(nextName(directory, "testName"), "testName-6.txt", "Incorrect name after allocated name");
+        assertEquals(nextName(directory, "other"), "other-3.txt", "Incorrect name for other base name");
+        assertEquals(nextName(directory, "testName-x"), "testName-x-1.txt", "Incorrect name for unsequenced name");
+        assertEquals(nextName(directory, "newName"), "newName.txt", "Incorrect name for new base name");
+        assertEquals(nextName(directory, "newName"), "newName-1.txt", "Incorrect name for second new name");
+    }
+    
+    @Test
+    public void verifyExternalNameSkipped() throws IOException {
+        Path directory = Files.createTempDirectory("allocator");
+        assertEquals(nextName(directory, "testName"), "testName.txt", "Incorrect first name");
+        // name created behind the allocator's back
+        Files.createFile(directory.resolve("testName-1.txt"));
+        assertEquals(nextName(directory, "testName"), "testName-2.txt", "Existing file should have been skipped");
+    }
+    
+    @Test
+    public void verifyConcurrentNames() throws Exception {
+        Path directory = Files.createTempDirectory("allocator");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> nextName(directory, "testName")));
+            }
+            Set<String> names = new HashSet<>();
+            for (Future<String> future : futures) {
+                names.add(future.get());
+            }
+            assertEquals(names.size(), 200, "Allocated names should be unique");
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static String nextName(Path directory, String baseName) throws IOException {
+        return ArtifactNameAllocator.createNextPath(directory, baseName, "txt").getFileName().toString();
+    }
+    
+}
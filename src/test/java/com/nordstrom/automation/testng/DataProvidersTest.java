@@ -0,0 +1,358 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.testng.ITestNGListener;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+public class DataProvidersTest {
+    
+    @Test
+    public void verifyCartesianProduct() {
+        Object[][] browsers = {{"chrome"}, {"firefox"}};
+        Iterator<Object[]> locales = Arrays.asList(new Object[] {"en", "US"}, new Object[] {"fr", "CA"}).iterator();
+        Object[] flags = {true, false};
+        
+        List<Object[]> rows = new ArrayList<>();
+        Iterator<Object[]> iterator = DataProviders.createIterator(browsers, locales, flags);
+        while (iterator.hasNext()) {
+            rows.add(iterator.next());
+        }
+        
+        assertEquals(rows.size(), 8, "Incorrect combination count");
+        assertEquals(rows.get(0), new Object[] {"chrome", "en", "US", true}, "Incorrect first combination");
+        assertEquals(rows.get(1), new Object[] {"chrome", "en", "US", false}, "Incorrect second combination");
+        assertEquals(rows.get(2), new Object[] {"chrome", "fr", "CA", true}, "Incorrect third combination");
+        assertEquals(rows.get(7), new Object[] {"firefox", "fr", "CA", false}, "Incorrect last combination");
+    }
+    
+    @Test
+    public void verifyEmptyInput() {
+        Iterator<Object[]> iterator = DataProviders.createIterator(new Object[][] {{"chrome"}}, new Object[0][]);
+        assertFalse(iterator.hasNext(), "Product with empty input should be empty");
+    }
+    
+    @Test
+    public void verifyLazyIteration() {
+        Object[] values = new Object[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        
+        // 10^10 combinations; only feasible if the product isn't materialized
+        Iterator<Object[]> iterator = DataProviders.createIterator(values, values, values, values, values);
+        assertTrue(iterator.hasNext(), "Product should not be empty");
+        assertEquals(iterator.next(), new Object[] {0, 0, 0, 0, 0}, "Incorrect first combination");
+        assertEquals(iterator.next(), new Object[] {0, 0, 0, 0, 1}, "Incorrect second combination");
+    }
+    
+    @Test
+    public void verifyRandomAccess() {
+        CartesianProduct product = DataProviders.createProduct(new Object[] {"a", "b", "c"}, new Object[] {1, 2});
+        assertEquals(product.size(), 6, "Incorrect product size");
+        
+        Iterator<Object[]> iterator = product.iterator();
+        for (int i = 0; i < product.size(); i++) {
+            assertEquals(product.get(i), iterator.next(), "Indexed combination differs from iterated combination");
+        }
+        assertFalse(iterator.hasNext(), "Iterator should be exhausted");
+        assertEquals(product.get(3), new Object[] {"b", 2}, "Incorrect indexed combination");
+    }
+    
+    @Test
+    public void verifySplit() {
+        Object[] values = {0, 1, 2, 3, 4, 5, 6};
+        CartesianProduct product = DataProviders.createProduct(values, values, values);
+        
+        Set<List<Object>> combinations = new HashSet<>();
+        long total = 0;
+        for (CartesianProduct shard : product.split(4)) {
+            assertTrue(shard.size() == 85 || shard.size() == 86, "Unbalanced shard size: " + shard.size());
+            for (Object[] combination : shard) {
+                combinations.add(Arrays.asList(combination));
+                total++;
+            }
+        }
+        assertEquals(total, product.size(), "Shards should cover the whole product");
+        assertEquals(combinations.size(), 343, "Shards should be disjoint");
+    }
+    
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void verifySplitRejectsZeroCount() {
+        DataProviders.createProduct(new Object[] {"a", "b"}).split(0);
+    }
+    
+    @Test
+    public void verifyCurrentShardValidatesIndex() {
+        CartesianProduct product = DataProviders.createProduct(new Object[] {"a", "b", "c"}, new Object[] {1, 2});
+        System.setProperty(TestNGSettings.SHARD_INDEX.key(), "1");
+        try {
+            product.forCurrentShard();
+            fail("Shard index out of range should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        } finally {
+            System.clearProperty(TestNGSettings.SHARD_INDEX.key());
+        }
+    }
+    
+    @Test
+    public void verifyCurrentShard() {
+        CartesianProduct product = DataProviders.createProduct(new Object[] {"a", "b", "c"}, new Object[] {1, 2});
+        System.setProperty(TestNGSettings.SHARD_INDEX.key(), "1");
+        System.setProperty(TestNGSettings.SHARD_COUNT.key(), "4");
+        try {
+            CartesianProduct shard = product.forCurrentShard();
+            assertEquals(shard.size(), 2, "Incorrect shard size");
+            assertEquals(shard.get(0), new Object[] {"b", 1}, "Incorrect first combination in shard");
+        } finally {
+            System.clearProperty(TestNGSettings.SHARD_INDEX.key());
+            System.clearProperty(TestNGSettings.SHARD_COUNT.key());
+        }
+    }
+    
+    @Test
+    public void verifyDistinctRows() {
+        Object[][] rows = {{"b", 1}, {"a", new int[] {2}}, {"b", 1}, {"c", 3}, {"a", new int[] {2}}};
+        Object[][] distinct = DataProviders.distinctRows(rows);
+        assertEquals(distinct.length, 3, "Duplicate rows should be removed by value");
+        assertSame(distinct[0], rows[0], "First occurrence should be retained");
+        assertSame(distinct[1], rows[1], "First occurrence should be retained");
+        assertSame(distinct[2], rows[3], "Insertion order should be preserved");
+        
+        Iterator<Object[]> duplicates =
+                Arrays.asList(new Object[] {"x"}, new Object[] {"y"}, new Object[] {"x"}).iterator();
+        List<Object[]> product = collect(DataProviders.createIterator(duplicates, new Object[] {1, 2, 1}));
+        assertEquals(product.size(), 4, "Duplicate parameter sets should not produce combinations");
+        assertEquals(product.get(0), new Object[] {"x", 1}, "Incorrect first combination");
+        assertEquals(product.get(3), new Object[] {"y", 2}, "Incorrect last combination");
+    }
+    
+    @Test
+    public void verifyPairwiseCoverage() {
+        Object[] values = {0, 1, 2};
+        List<Object[]> rows = collect(DataProviders.createPairwiseIterator(values, values, values, values, values));
+        assertTrue(rows.size() < 243 / 10, "Covering array should be much smaller than the product: " + rows.size());
+        
+        for (int i = 0; i < 5; i++) {
+            for (int j = i + 1; j < 5; j++) {
+                Set<List<Object>> pairs = new HashSet<>();
+                for (Object[] row : rows) {
+                    pairs.add(Arrays.asList(row[i], row[j]));
+                }
+                assertEquals(pairs.size(), 9, "Missing pairs for columns " + i + " and " + j);
+            }
+        }
+    }
+    
+    @Test
+    public void verifyCoveringDeterminism() {
+        Object[] values = {"a", "b", "c", "d"};
+        List<Object[]> first = collect(DataProviders.createCoveringIterator(3, 42, values, values, values, values));
+        List<Object[]> second = collect(DataProviders.createCoveringIterator(3, 42, values, values, values, values));
+        assertEquals(first.size(), second.size(), "Same seed should yield the same row count");
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i), second.get(i), "Same seed should yield the same rows");
+        }
+    }
+    
+    @Test
+    public void verifyFullStrength() {
+        Object[] values = {0, 1};
+        List<Object[]> rows = collect(DataProviders.createCoveringIterator(3, 0, values, values, values));
+        assertEquals(rows.size(), 8, "Full strength should yield the Cartesian product");
+    }
+    
+    @Test
+    public void verifyPrefetchStartsEarly() {
+        CountDownLatch consumed = new CountDownLatch(1);
+        AtomicBoolean blocked = new AtomicBoolean();
+        Iterator<Object[]> source = new Iterator<Object[]>() {
+            int count = 0;
+            
+            @Override
+            public boolean hasNext() {
+                if (count == 1) {
+                    try {
+                        // still blocked when the first row is consumed
+                        blocked.set(consumed.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return count < 3;
+            }
+            
+            @Override
+            public Object[] next() {
+                return new Object[] {count++};
+            }
+        };
+        
+        PrefetchIterator<Object[]> iterator = DataProviders.createPrefetchIterator(source, 2);
+        // first row is available while the source is blocked building the second
+        assertEquals(iterator.next(), new Object[] {0}, "Incorrect first row");
+        consumed.countDown();
+        assertEquals(iterator.next(), new Object[] {1}, "Incorrect second row");
+        assertEquals(iterator.next(), new Object[] {2}, "Incorrect third row");
+        assertFalse(iterator.hasNext(), "Iterator should be exhausted");
+        assertTrue(iterator.isClosed(), "Exhausted iterator should be closed");
+        assertTrue(blocked.get(), "First row should be available while the source is blocked");
+    }
+    
+    @Test
+    public void verifyPrefetchOrdering() {
+        Iterator<Integer> source = IntStream.range(0, 20).iterator();
+        PrefetchIterator<Integer> iterator = DataProviders.createPrefetchIterator(source, i -> {
+            try {
+                // later rows finish first
+                TimeUnit.MILLISECONDS.sleep(20 - i);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Object[] {i};
+        }, 8, 4);
+        
+        List<Object[]> rows = collect(iterator);
+        assertEquals(rows.size(), 20, "Incorrect row count");
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i), new Object[] {i}, "Rows should be returned in source order");
+        }
+    }
+    
+    @Test
+    public void verifyPrefetchException() {
+        IllegalStateException failure = new IllegalStateException("fixture failure");
+        Iterator<Integer> source = IntStream.range(0, 5).iterator();
+        PrefetchIterator<Integer> iterator = DataProviders.createPrefetchIterator(source, i -> {
+            if (i == 3) {
+                throw failure;
+            }
+            return new Object[] {i};
+        }, 2, 2);
+        
+        for (int i = 0; i < 3; i++) {
+            assertEquals(iterator.next(), new Object[] {i}, "Incorrect row before failure");
+        }
+        try {
+            iterator.next();
+            fail("Expected row builder exception");
+        } catch (IllegalStateException e) {
+            assertSame(e, failure, "Row builder exception should be rethrown");
+        }
+        assertFalse(iterator.hasNext(), "Iterator should be closed after failure");
+    }
+    
+    @Test
+    public void verifyPrefetchClose() throws InterruptedException {
+        AtomicInteger produced = new AtomicInteger();
+        AtomicReference<Thread> producer = new AtomicReference<>();
+        Iterator<Object[]> source = new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+            
+            @Override
+            public Object[] next() {
+                producer.set(Thread.currentThread());
+                return new Object[] {produced.incrementAndGet()};
+            }
+        };
+        
+        PrefetchIterator<Object[]> iterator = DataProviders.createPrefetchIterator(source, 2);
+        assertEquals(iterator.next(), new Object[] {1}, "Incorrect first row");
+        iterator.close();
+        assertFalse(iterator.hasNext(), "Closed iterator should be empty");
+        
+        producer.get().join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(producer.get().isAlive(), "Producer should stop when closed");
+        assertTrue(produced.get() <= 4, "Producer should be bounded by prefetch depth: " + produced.get());
+    }
+    
+    @Test
+    public void verifyPrefetchCloseReleasesConsumer() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        Iterator<Object[]> source = new Iterator<Object[]>() {
+            int count = 0;
+            
+            @Override
+            public boolean hasNext() {
+                if (count == 1) {
+                    // ignore interrupts, like a source blocked in I/O; produce another row after close
+                    while (true) {
+                        try {
+                            closed.await();
+                            break;
+                        } catch (InterruptedException e) {
+                            // keep waiting
+                        }
+                    }
+                }
+                return true;
+            }
+            
+            @Override
+            public Object[] next() {
+                return new Object[] {count++};
+            }
+        };
+        
+        PrefetchIterator<Object[]> iterator = DataProviders.createPrefetchIterator(source, 2);
+        assertEquals(iterator.next(), new Object[] {0}, "Incorrect first row");
+        CompletableFuture<Boolean> consumer = CompletableFuture.supplyAsync(iterator::hasNext);
+        iterator.close();
+        closed.countDown();
+        assertFalse(consumer.get(10, TimeUnit.SECONDS), "Consumer should be released empty-handed when closed");
+        assertFalse(iterator.hasNext(), "Closed iterator should be empty");
+    }
+    
+    @Test
+    public void verifyAbandonedPrefetchClosed() throws InterruptedException {
+        ListenerChain lc = new ListenerChain();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{AbandonedPrefetchClass.class});
+        testNG.addListener((ITestNGListener) lc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.run();
+        
+        assertEquals(tla.getSkippedTests().size(), AbandonedPrefetchClass.CONSUMED, "Incorrect skipped test count");
+        // the iterator was abandoned, so it was closed when the test context finished
+        assertTrue(AbandonedPrefetchClass.iterator.isClosed(), "Abandoned iterator should be closed");
+        Thread producer = AbandonedPrefetchClass.producer.get();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(producer.isAlive(), "Producer of abandoned iterator should stop");
+    }
+    
+    private static List<Object[]> collect(Iterator<Object[]> iterator) {
+        List<Object[]> rows = new ArrayList<>();
+        while (iterator.hasNext()) {
+            rows.add(iterator.next());
+        }
+        return rows;
+    }
+}
@@ -1,8 +1,11 @@
 package com.nordstrom.automation.testng;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.testng.ITestNGListener;
 import org.testng.ITestResult;
 import org.testng.TestListenerAdapter;
@@ -115,5 +118,94 @@ public class ExecutionFlowControllerTest {
         assertTrue(MethodListenerExtension.afterMethodAfter, "Incorrect [afterMethod] 'after' value");
         
     }
+    
+    @Test
+    public void testInvocationContextReleased() {
+        
+        ExecutionFlowController efc = new ExecutionFlowController();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{InvocationContextClass.class});
+        testNG.addListener((ITestNGListener) efc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.run();
+        
+        assertEquals(tla.getPassedTests().size(), 2, "Incorrect passed test count");
+        assertEquals(tla.getConfigurationFailures().size(), 0, "Unexpected configuration method failure");
+        
+        // earliest [before] value prevails, and is seen by every [after] method
+        assertEquals(InvocationContextClass.fromAfter, Arrays.asList(InvocationContextClass.FIRST,
+                InvocationContextClass.FIRST, InvocationContextClass.FIRST, InvocationContextClass.FIRST),
+                "Incorrect [after] values");
+        // no context is carried from one invocation into the next
+        assertEquals(InvocationContextClass.contextAtStart, Arrays.asList(false, false),
+                "Context retained across invocations");
+        assertFalse(ExecutionFlowController.hasInvocationContext(), "Context retained after run");
+        
+    }
+    
+    @Test
+    public void testInvocationContextReleasedWithUnmatchedAfterMethod() {
+        
+        ExecutionFlowController efc = new ExecutionFlowController();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{UnmatchedAfterMethodClass.class});
+        testNG.addListener((ITestNGListener) efc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.run();
+        
+        assertEquals(tla.getPassedTests().size(), 1, "Incorrect passed test count");
+        // [unmatchedAfter] never runs, so the context is released when the <test> finishes
+        assertFalse(ExecutionFlowController.hasInvocationContext(), "Context retained after run");
+        
+    }
+    
+    @Test
+    public void testInvocationContextReleasedWithFailedBeforeMethod() {
+        
+        ExecutionFlowController efc = new ExecutionFlowController();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{FailFromBefore.class});
+        testNG.addListener((ITestNGListener) efc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.setConfigFailurePolicy(FailurePolicy.CONTINUE);
+        testNG.run();
+        
+        assertEquals(tla.getConfigurationFailures().size(), 1, "Incorrect configuration failure count");
+        assertEquals(tla.getPassedTests().size(), 2, "Incorrect passed test count");
+        assertEquals(tla.getSkippedTests().size(), 1, "Incorrect skipped test count");
+        
+        // attributes of the failed [before] method don't leak into the next invocation
+        assertEquals(FailFromBefore.fromMethod, Arrays.asList(1, 3), "Incorrect [method] values");
+        assertFalse(ExecutionFlowController.hasInvocationContext(), "Context retained after run");
+        
+    }
+    
+    @Test
+    public void testRetryExemption() throws NoSuchMethodException {
+        
+        assertTrue(ExecutionFlowController.isRetryExempt(
+                RetryAnalyzerCheck.class.getMethod("retryIsDisabledForThisTest")), "Method exemption not detected");
+        assertFalse(ExecutionFlowController.isRetryExempt(
+                RetryAnalyzerCheck.class.getMethod("retryAnalyzerUnspecified")), "Unexpected method exemption");
+        assertTrue(ExecutionFlowController.isRetryExempt(
+                ExemptClass.class.getMethod("exemptByClass")), "Class exemption not detected");
+        // cached status is stable across lookups
+        assertTrue(ExecutionFlowController.isRetryExempt(
+                ExemptClass.class.getMethod("exemptByClass")), "Cached class exemption lost");
+        
+    }
+    
+    @NoRetry
+    public static class ExemptClass {
+        public void exemptByClass() {
+            // no-op
+        }
+    }
 
 }
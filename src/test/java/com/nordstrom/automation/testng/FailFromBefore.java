@@ -0,0 +1,30 @@
+package com.nordstrom.automation.testng;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Reporter;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+class FailFromBefore {
+    
+    protected static final String ATTRIBUTE = "ATTRIBUTE";
+    protected static final int FAILING = 2;
+    
+    protected static final List<Object> fromMethod = new ArrayList<>();
+    private static int invocation;
+    
+    @BeforeMethod
+    public void beforeMethod() {
+        Reporter.getCurrentTestResult().setAttribute(ATTRIBUTE, ++invocation);
+        if (invocation == FAILING) {
+            throw new IllegalStateException("Fail from [before]");
+        }
+    }
+    
+    @Test(invocationCount = 3)
+    public void testMethod() {
+        fromMethod.add(Reporter.getCurrentTestResult().getAttribute(ATTRIBUTE));
+    }
+}
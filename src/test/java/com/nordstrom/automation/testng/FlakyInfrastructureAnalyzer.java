@@ -0,0 +1,31 @@
+package com.nordstrom.automation.testng;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.ITestResult;
+
+public class FlakyInfrastructureAnalyzer implements TestNGRetryAnalyzer {
+    
+    static final AtomicInteger evaluations = new AtomicInteger();
+    
+    @Override
+    public boolean retry(ITestResult result) {
+        evaluations.incrementAndGet();
+        return true;
+    }
+    
+    @Override
+    public Collection<Class<? extends Throwable>> getRetriableTypes() {
+        return Collections.singletonList(FlakyInfrastructureException.class);
+    }
+    
+    static class FlakyInfrastructureException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        FlakyInfrastructureException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.nordstrom.automation.testng;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Reporter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+class InvocationContextClass {
+    
+    protected static final String ATTRIBUTE = "ATTRIBUTE";
+    protected static final String FIRST = "FIRST";
+    protected static final String SECOND = "SECOND";
+    
+    protected static final List<Boolean> contextAtStart = new ArrayList<>();
+    protected static final List<Object> fromAfter = new ArrayList<>();
+    
+    @BeforeMethod
+    public void firstBefore() {
+        contextAtStart.add(ExecutionFlowController.hasInvocationContext());
+        Reporter.getCurrentTestResult().setAttribute(ATTRIBUTE, FIRST);
+    }
+    
+    @BeforeMethod(dependsOnMethods = "firstBefore")
+    public void secondBefore() {
+        Reporter.getCurrentTestResult().setAttribute(ATTRIBUTE, SECOND);
+    }
+    
+    @Test
+    public void testOne() {
+    }
+    
+    @Test
+    public void testTwo() {
+    }
+    
+    @AfterMethod
+    public void firstAfter() {
+        fromAfter.add(Reporter.getCurrentTestResult().getAttribute(ATTRIBUTE));
+    }
+    
+    @AfterMethod(dependsOnMethods = "firstAfter")
+    public void secondAfter() {
+        fromAfter.add(Reporter.getCurrentTestResult().getAttribute(ATTRIBUTE));
+    }
+}
@@ -1,17 +1,30 @@
 package com.nordstrom.automation.testng;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.testng.IClassListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
 import org.testng.ITestNGListener;
+import org.testng.ITestResult;
 import org.testng.TestListenerAdapter;
 import org.testng.TestNG;
 import org.testng.annotations.Test;
 
+import com.nordstrom.automation.testng.ListenerStatistics.EventStatistics;
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
 public class ListenerChainTest {
 
     @Test
@@ -390,4 +403,115 @@ public class ListenerChainTest {
         assertTrue(chainedListener.interceptor.contains("Command line test"));
     }
     
+    @Test
+    public void verifyDispatchTargets() {
+        ListenerChain lc = new ListenerChain();
+        FailureOnlyListener failureOnly = new FailureOnlyListener();
+        lc.attachListener(ChainedListener.class, null);
+        lc.attachListener(null, failureOnly);
+        
+        ChainedListener chainedListener = lc.getAttachedListener(ChainedListener.class).get();
+        List<ITestNGListener> onFailure = Arrays.asList(lc.getDispatchTargets(ListenerEvent.TEST_FAILURE));
+        List<ITestNGListener> onSuccess = Arrays.asList(lc.getDispatchTargets(ListenerEvent.TEST_SUCCESS));
+        
+        assertTrue(onFailure.indexOf(chainedListener) < onFailure.indexOf(failureOnly), "Incorrect dispatch order");
+        assertTrue(onSuccess.contains(chainedListener), "Missing dispatch target");
+        assertTrue(onSuccess.contains(failureOnly), "Listener with inherited handler was excluded");
+        assertFalse(Arrays.asList(lc.getDispatchTargets(ListenerEvent.SUITE_START)).contains(failureOnly),
+                "Listener of unrelated type was included");
+    }
+    
+    @Test
+    public void verifyCompiledDispatch() {
+        ListenerChain lc = new ListenerChain();
+        List<String> calls = new ArrayList<>();
+        lc.attachListener(null, new OrderListener("first", calls));
+        lc.attachListener(null, new OrderListenerB("second", calls));
+        
+        lc.onBeforeClass(null);
+        assertEquals(calls, Arrays.asList("second", "first"), "Incorrect 'before' dispatch order");
+        
+        calls.clear();
+        lc.onAfterClass(null);
+        assertEquals(calls, Arrays.asList("first", "second"), "Incorrect 'after' dispatch order");
+        
+        calls.clear();
+        List<IMethodInstance> methods = lc.intercept(Arrays.asList(null, null, null), null);
+        assertEquals(calls, Arrays.asList("first", "second"), "Incorrect interceptor order");
+        assertEquals(methods.size(), 1, "Interceptors weren't chained");
+    }
+    
+    @Test
+    public void verifyListenerStatistics() {
+        
+        ListenerChain lc;
+        System.setProperty(TestNGSettings.LISTENER_STATS.key(), "true");
+        try {
+            lc = new ListenerChain();
+        } finally {
+            System.clearProperty(TestNGSettings.LISTENER_STATS.key());
+        }
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{ListenerChainTestCases.class});
+        testNG.addListener((ITestNGListener) lc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.setGroups("happyPath");
+        testNG.run();
+        
+        ListenerStatistics statistics = lc.getListenerStatistics().get();
+        EventStatistics testSuccess = statistics.getStatistics(ChainedListener.class, ListenerEvent.TEST_SUCCESS).get();
+        EventStatistics testFailure = statistics.getStatistics(ChainedListener.class, ListenerEvent.TEST_FAILURE).get();
+        
+        assertEquals(testSuccess.getCount(), tla.getPassedTests().size(), "Incorrect success event count");
+        assertTrue(testSuccess.getMaxNanos() <= testSuccess.getTotalNanos(), "Inconsistent timing statistics");
+        assertEquals(testFailure.getCount(), 0, "Incorrect failure event count");
+        assertTrue(statistics.getSummary().contains(ChainedListener.class.getName()), "Listener missing from summary");
+    }
+    
+    @Test
+    public void verifyStatisticsDisabled() {
+        assertFalse(new ListenerChain().getListenerStatistics().isPresent(), "Statistics should be disabled by default");
+    }
+    
+    static class FailureOnlyListener implements ITestListener {
+        @Override
+        public void onTestFailure(ITestResult result) {
+            // nothing to do here
+        }
+    }
+    
+    static class OrderListener implements IClassListener, IMethodInterceptor {
+        private final String name;
+        private final List<String> calls;
+        
+        OrderListener(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+        
+        @Override
+        public void onBeforeClass(ITestClass testClass) {
+            calls.add(name);
+        }
+        
+        @Override
+        public void onAfterClass(ITestClass testClass) {
+            calls.add(name);
+        }
+        
+        @Override
+        public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+            calls.add(name);
+            return methods.subList(1, methods.size());
+        }
+    }
+    
+    static class OrderListenerB extends OrderListener {
+        OrderListenerB(String name, List<String> calls) {
+            super(name, calls);
+        }
+    }
+    
 }
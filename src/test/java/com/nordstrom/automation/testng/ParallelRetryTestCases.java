@@ -0,0 +1,75 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+/**
+ * Two parallel invocations of this test share a single invocation key. The first invocation to start always fails,
+ * and the second passes while the first is still retrying. The passing invocation must not drop the ledger entry of
+ * the failing one, so the failing invocation is attempted exactly {@code MAX_RETRY + 1} times.
+ */
+@LinkedListeners({ExecutionFlowController.class, ParallelRetryTestCases.ReleaseLatch.class})
+public class ParallelRetryTestCases {
+
+    static final AtomicInteger failedAttempts = new AtomicInteger();
+    static CountDownLatch failerRetried = new CountDownLatch(1);
+    static CountDownLatch passerReleased = new CountDownLatch(1);
+
+    private static final AtomicReference<Thread> failer = new AtomicReference<>();
+
+    static void reset() {
+        failedAttempts.set(0);
+        failerRetried = new CountDownLatch(1);
+        passerReleased = new CountDownLatch(1);
+        failer.set(null);
+    }
+
+    @Test(retryAnalyzer = RetryManagerTestCases.LedgerCheck.class, invocationCount = 2, threadPoolSize = 2)
+    public void testSameKeyInParallel() throws InterruptedException {
+        if (isFailer()) {
+            if (failedAttempts.incrementAndGet() == 2) {
+                // retry is in flight; let the passing invocation finish
+                failerRetried.countDown();
+                await(passerReleased);
+            }
+            fail("testSameKeyInParallel");
+        } else {
+            await(failerRetried);
+        }
+    }
+
+    private static boolean isFailer() {
+        Thread thread = Thread.currentThread();
+        failer.compareAndSet(null, thread);
+        return failer.get() == thread;
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        if (!latch.await(30, TimeUnit.SECONDS)) {
+            fail("Timed out waiting for parallel invocation");
+        }
+    }
+
+    /**
+     * This listener signals the failing invocation after {@link ExecutionFlowController} has processed the result
+     * of the passing invocation.
+     */
+    public static class ReleaseLatch implements IInvokedMethodListener {
+
+        @Override
+        public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+            if (method.isTestMethod() && (testResult.getStatus() == ITestResult.SUCCESS)) {
+                passerReleased.countDown();
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.nordstrom.automation.testng;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static com.nordstrom.automation.testng.VersionUtility.newEmptyTestResult;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -66,4 +68,22 @@ public class PropertyManagerTest {
         
     }
 
+    @Test
+    public void testAttributePropagation() {
+        
+        ITestResult source = newEmptyTestResult();
+        ITestResult target = newEmptyTestResult();
+        
+        PropertyManager.injectAttributes(attributeMap, source);
+        TrackedObject<Object> tracked = TrackedObject.create(source, "TRACKED", new Object());
+        
+        assertEquals(PropertyManager.propagateAttributes(source, target), 4, "Incorrect propagated count");
+        assertEquals(PropertyManager.extractAttributes(target), PropertyManager.extractAttributes(source),
+                "Target attributes differ from source attributes");
+        assertEquals(PropertyManager.propagateAttributes(source, target), 0, "Unchanged attributes were copied");
+        
+        assertTrue(tracked.release(target), "Tracked object should record the target result");
+        
+    }
+
 }
@@ -0,0 +1,147 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.ITestNGListener;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+public class RetryManagerTest {
+    
+    @BeforeClass
+    public void beforeClass() {
+        System.setProperty(TestNGSettings.MAX_RETRY.key(), "2");
+        TestNGConfig.refreshSnapshot();
+    }
+    
+    @Test
+    public void verifyLedgerEviction() {
+        runTestCases();
+    }
+    
+    @Test
+    public void verifyLedgerEvictionWithFingerprint() {
+        System.setProperty(TestNGSettings.INVOCATION_KEY.key(), StandardKeyStrategy.FINGERPRINT.name());
+        TestNGConfig.refreshSnapshot();
+        try {
+            runTestCases();
+        } finally {
+            System.clearProperty(TestNGSettings.INVOCATION_KEY.key());
+            TestNGConfig.refreshSnapshot();
+        }
+    }
+    
+    @Test
+    public void verifyParallelSameKeyInvocations() {
+        ParallelRetryTestCases.reset();
+        RetryManagerTestCases.LedgerCheck.instances.clear();
+        
+        ListenerChain lc = new ListenerChain();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{ParallelRetryTestCases.class});
+        testNG.addListener((ITestNGListener) lc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.run();
+        
+        assertEquals(tla.getPassedTests().size(), 1, "Incorrect passed test count");
+        assertEquals(tla.getFailedTests().size(), 1, "Incorrect failed test count");
+        assertEquals(ParallelRetryTestCases.failedAttempts.get(), 3,
+                "Passing invocation reset the retry count of its same-key sibling");
+        for (RetryManagerTestCases.LedgerCheck analyzer : RetryManagerTestCases.LedgerCheck.instances) {
+            assertEquals(analyzer.getLedgerSize(), 0, "Invocation ledger should be empty");
+        }
+    }
+    
+    @Test
+    public void verifyInvocationFingerprint() {
+        List<ITestResult> passed = runTestCases().getPassedTests();
+        ITestResult one = findResult(passed, "one");
+        ITestResult two = findResult(passed, "two");
+        
+        InvocationFingerprint fingerprint = InvocationFingerprint.of(one);
+        assertEquals(InvocationFingerprint.of(one), fingerprint, "Fingerprint of an invocation should be stable");
+        assertEquals(InvocationFingerprint.of(one).hashCode(), fingerprint.hashCode(), "Hash codes should match");
+        assertNotEquals(InvocationFingerprint.of(two), fingerprint, "Distinct invocations should differ");
+        assertTrue(fingerprint.toString().matches("[0-9A-F]{32}"), "Unexpected fingerprint format: " + fingerprint);
+        
+        // retried invocations may receive fresh parameter instances
+        one.setParameters(new Object[] {new ArrayList<>(Arrays.asList("one"))});
+        fingerprint = InvocationFingerprint.of(one);
+        one.setParameters(new Object[] {new ArrayList<>(Arrays.asList("one"))});
+        assertEquals(InvocationFingerprint.of(one), fingerprint, "Equal parameter objects should match");
+    }
+    
+    private static TestListenerAdapter runTestCases() {
+        RetryManagerTestCases.attempts.clear();
+        RetryManagerTestCases.LedgerCheck.instances.clear();
+        FlakyInfrastructureAnalyzer.evaluations.set(0);
+        
+        ListenerChain lc = new ListenerChain();
+        TestListenerAdapter tla = new TestListenerAdapter();
+        
+        TestNG testNG = new TestNG();
+        testNG.setTestClasses(new Class[]{RetryManagerTestCases.class});
+        testNG.addListener((ITestNGListener) lc);
+        testNG.addListener((ITestNGListener) tla);
+        testNG.run();
+        
+        assertEquals(tla.getPassedTests().size(), 5, "Incorrect passed test count");
+        assertEquals(tla.getFailedTests().size(), 2, "Incorrect failed test count");
+        assertEquals(tla.getSkippedTests().size(), 6, "Incorrect skipped test count");
+        
+        assertEquals(RetryManagerTestCases.attempts.get("testFailThenPass").intValue(), 2,
+                "Incorrect attempt count for test that passes on retry");
+        assertEquals(RetryManagerTestCases.attempts.get("testAlwaysFail").intValue(), 3,
+                "Incorrect attempt count for test that exhausts its retries");
+        assertEquals(RetryManagerTestCases.attempts.get("testFailThenPassWithData:one").intValue(), 2,
+                "Incorrect attempt count for data-driven test that passes on retry");
+        assertEquals(RetryManagerTestCases.attempts.get("testFailThenPassWithData:two").intValue(), 2,
+                "Incorrect attempt count for data-driven test that passes on retry");
+        
+        assertEquals(RetryManagerTestCases.attempts.get("testFlakyInfrastructure").intValue(), 2,
+                "Incorrect attempt count for test that fails with retriable type");
+        assertEquals(RetryManagerTestCases.attempts.get("testFailWithoutRetry").intValue(), 1,
+                "Incorrect attempt count for test that fails with non-retriable type");
+        assertEquals(FlakyInfrastructureAnalyzer.evaluations.get(), 1,
+                "Analyzer should only be consulted for its retriable type");
+        
+        assertFalse(RetryManagerTestCases.LedgerCheck.instances.isEmpty(), "No retry analyzers were created");
+        for (RetryManagerTestCases.LedgerCheck analyzer : RetryManagerTestCases.LedgerCheck.instances) {
+            assertEquals(analyzer.getLedgerSize(), 0, "Invocation ledger should be empty");
+        }
+        
+        return tla;
+    }
+    
+    private static ITestResult findResult(List<ITestResult> results, Object parameter) {
+        for (ITestResult result : results) {
+            Object[] parameters = result.getParameters();
+            if ((parameters.length == 1) && parameter.equals(parameters[0])) {
+                return result;
+            }
+        }
+        throw new AssertionError("No result found for parameter: " + parameter);
+    }
+    
+    @AfterClass
+    public void afterClass() {
+        System.clearProperty(TestNGSettings.MAX_RETRY.key());
+        TestNGConfig.refreshSnapshot();
+    }
+    
+}
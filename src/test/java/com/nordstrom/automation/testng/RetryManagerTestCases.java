@@ -0,0 +1,78 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@LinkedListeners({ExecutionFlowController.class})
+public class RetryManagerTestCases {
+    
+    static final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    
+    @Test(retryAnalyzer = LedgerCheck.class)
+    public void testFailThenPass() {
+        if (attempts.merge("testFailThenPass", 1, Integer::sum) == 1) {
+            fail("testFailThenPass");
+        }
+    }
+    
+    @Test(retryAnalyzer = LedgerCheck.class)
+    public void testAlwaysFail() {
+        attempts.merge("testAlwaysFail", 1, Integer::sum);
+        fail("testAlwaysFail");
+    }
+    
+    @DataProvider(name = "data")
+    public Object[][] data() {
+        return new Object[][] {{"one"}, {"two"}};
+    }
+    
+    @Test(retryAnalyzer = LedgerCheck.class, dataProvider = "data")
+    public void testFailThenPassWithData(String parm) {
+        if (attempts.merge("testFailThenPassWithData:" + parm, 1, Integer::sum) == 1) {
+            fail("testFailThenPassWithData");
+        }
+    }
+    
+    @Test(retryAnalyzer = RetryManager.class)
+    public void testFlakyInfrastructure() {
+        if (attempts.merge("testFlakyInfrastructure", 1, Integer::sum) == 1) {
+            throw new FlakyInfrastructureAnalyzer.FlakyInfrastructureException("testFlakyInfrastructure");
+        }
+    }
+    
+    @Test(retryAnalyzer = RetryManager.class)
+    public void testFailWithoutRetry() {
+        attempts.merge("testFailWithoutRetry", 1, Integer::sum);
+        fail("testFailWithoutRetry");
+    }
+    
+    @Test(priority = 1)
+    public void testLedgerIsEmpty() {
+        for (LedgerCheck analyzer : LedgerCheck.instances) {
+            assertEquals(analyzer.getLedgerSize(), 0, "Invocation ledger should be empty");
+        }
+    }
+    
+    public static class LedgerCheck extends RetryManager {
+        
+        static final List<LedgerCheck> instances = new CopyOnWriteArrayList<>();
+        
+        public LedgerCheck() {
+            instances.add(this);
+        }
+        
+        @Override
+        protected boolean isRetriable(ITestResult result) {
+            return true;
+        }
+    }
+}
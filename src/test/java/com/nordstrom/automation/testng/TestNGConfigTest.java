@@ -0,0 +1,127 @@
+package com.nordstrom.automation.testng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.ITestNGListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.testng.TestNGConfig.TestNGSettings;
+
+public class TestNGConfigTest {
+    
+    @Test
+    public void verifyConfigForContext() throws Exception {
+        ITestResult result = Reporter.getCurrentTestResult();
+        TestNGConfig config = TestNGConfig.getConfig(result);
+        assertSame(result.getAttribute("TESTNG_CONFIG"), config, "Configuration should be attached to the result");
+        assertSame(TestNGConfig.getConfig(), config, "Current context should yield the attached configuration");
+        assertSame(TestNGConfig.getConfig(null), config, "Shared configuration should be attached to new contexts");
+        
+        TestNGConfig attached = new TestNGConfig();
+        result.setAttribute("TESTNG_CONFIG", attached);
+        assertSame(TestNGConfig.getConfig(result), attached, "Attached configuration should prevail");
+        result.removeAttribute("TESTNG_CONFIG");
+    }
+    
+    @Test
+    public void verifySnapshotValues() {
+        System.setProperty(TestNGSettings.TEST_TIMEOUT.key(), "30000");
+        System.setProperty(TestNGSettings.MAX_RETRY.key(), "3");
+        System.setProperty(TestNGSettings.RETRY_MORE_INFO.key(), "true");
+        try {
+            ConfigSnapshot snapshot = TestNGConfig.refreshSnapshot();
+            assertSame(TestNGConfig.getSnapshot(), snapshot, "Refreshed snapshot should be shared");
+            assertTrue(snapshot.hasTestTimeout(), "Test timeout should be defined");
+            assertEquals(snapshot.getTestTimeout(), 30000L, "Incorrect test timeout");
+            assertEquals(snapshot.getMaxRetry(), 3, "Incorrect max retry");
+            assertEquals(snapshot.getRetryAnalyzerClass(), RetryManager.class, "Incorrect retry analyzer");
+            assertTrue(snapshot.isRetryMoreInfo(), "Incorrect retry more info");
+        } finally {
+            System.clearProperty(TestNGSettings.TEST_TIMEOUT.key());
+            System.clearProperty(TestNGSettings.MAX_RETRY.key());
+            System.clearProperty(TestNGSettings.RETRY_MORE_INFO.key());
+        }
+        
+        ConfigSnapshot snapshot = TestNGConfig.refreshSnapshot();
+        assertFalse(snapshot.hasTestTimeout(), "Test timeout should be undefined");
+        assertEquals(snapshot.getMaxRetry(), 0, "Incorrect default max retry");
+        assertNull(snapshot.getRetryAnalyzerClass(), "Retry analyzer should be undefined with retry disabled");
+        assertFalse(snapshot.isRetryMoreInfo(), "Incorrect default retry more info");
+    }
+    
+    @Test
+    public void verifyThreadOverrides() {
+        ConfigSnapshot shared = TestNGConfig.getSnapshot();
+        TestNGConfig.setThreadOverrides(Collections.singletonMap(TestNGSettings.MAX_RETRY, "5"));
+        assertEquals(TestNGConfig.getSnapshot().getMaxRetry(), 5, "Thread override should apply");
+        assertEquals(TestNGConfig.getSnapshot().isRetryMoreInfo(), shared.isRetryMoreInfo(),
+                "Settings without overrides should be inherited");
+        TestNGConfig.clearThreadOverrides();
+        assertSame(TestNGConfig.getSnapshot(), shared, "Shared snapshot should apply without overrides");
+    }
+    
+    @Test
+    public void verifySuiteOverrides() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        String suiteName = result.getTestContext().getSuite().getName();
+        Map<TestNGSettings, String> overrides = new EnumMap<>(TestNGSettings.class);
+        overrides.put(TestNGSettings.TEST_TIMEOUT, "1000");
+        TestNGConfig.setSuiteOverrides(suiteName, overrides);
+        assertEquals(TestNGConfig.getSnapshot(result).getTestTimeout(), 1000L, "Suite override should apply");
+        assertFalse(TestNGConfig.getSnapshot().hasTestTimeout(), "Suite override requires a test result");
+        
+        TestNGConfig.setThreadOverrides(Collections.singletonMap(TestNGSettings.TEST_TIMEOUT, "2000"));
+        assertEquals(TestNGConfig.getSnapshot(result).getTestTimeout(), 2000L, "Thread override should prevail");
+    }
+    
+    @Test
+    public void verifyTransformIgnoresSuiteOverrides() {
+        TestNG testNG = new TestNG();
+        String suiteName = testNG.getDefaultSuiteName();
+        TestNGConfig.setSuiteOverrides(suiteName, Collections.singletonMap(TestNGSettings.TEST_TIMEOUT, "1000"));
+        try {
+            // annotations are transformed once, before any suite starts
+            for (ITestResult result : runWithFlowController(testNG)) {
+                assertEquals(result.getMethod().getTimeOut(), 0L, "Suite override should not apply to transform");
+            }
+            
+            // thread overrides of the thread that runs TestNG do apply
+            TestNGConfig.setThreadOverrides(Collections.singletonMap(TestNGSettings.TEST_TIMEOUT, "2000"));
+            for (ITestResult result : runWithFlowController(new TestNG())) {
+                assertEquals(result.getMethod().getTimeOut(), 2000L, "Thread override should apply to transform");
+            }
+        } finally {
+            TestNGConfig.clearSuiteOverrides(suiteName);
+        }
+    }
+    
+    private static List<ITestResult> runWithFlowController(TestNG testNG) {
+        TestListenerAdapter tla = new TestListenerAdapter();
+        testNG.setTestClasses(new Class[]{HappyPathClass.class});
+        testNG.addListener((ITestNGListener) new ExecutionFlowController());
+        testNG.addListener((ITestNGListener) tla);
+        testNG.run();
+        assertFalse(tla.getPassedTests().isEmpty(), "No tests passed");
+        return tla.getPassedTests();
+    }
+    
+    @AfterMethod
+    public void clearOverrides() {
+        TestNGConfig.clearThreadOverrides();
+        TestNGConfig.clearSuiteOverrides(Reporter.getCurrentTestResult().getTestContext().getSuite().getName());
+    }
+}
@@ -62,6 +62,10 @@ public class UnitTestArtifact extends ArtifactType {
         result.setAttribute(CAPTURE_CRIPPLED, Boolean.TRUE);
     }
     
+    static void restoreCapture(ITestResult result) {
+        result.removeAttribute(CAPTURE_CRIPPLED);
+    }
+    
     static boolean willGet(ITestResult result) {
         return (null == result.getAttribute(CAPTURE_CRIPPLED));
     }
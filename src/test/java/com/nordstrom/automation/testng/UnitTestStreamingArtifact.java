@@ -0,0 +1,83 @@
+package com.nordstrom.automation.testng;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+public class UnitTestStreamingArtifact extends StreamingArtifactType {
+    
+    static final int ARTIFACT_SIZE = 3 * 1024 * 1024 + 17;
+    static final String CHANNEL_CLOSED = "ChannelClosed";
+    
+    private static final String EXTENSION = "bin";
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnitTestStreamingArtifact.class);
+    
+    @Override
+    public Logger getLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public boolean canGetArtifact(ITestResult result) {
+        return true;
+    }
+
+    @Override
+    public ReadableByteChannel getArtifactChannel(ITestResult result) {
+        return new PatternChannel(ARTIFACT_SIZE, (CountDownLatch) result.getAttribute(CHANNEL_CLOSED));
+    }
+
+    @Override
+    public String getArtifactExtension() {
+        return EXTENSION;
+    }
+    
+    /**
+     * This channel generates the specified number of pattern bytes, without holding them in memory. If a latch is
+     * specified, it's released when the channel is closed.
+     */
+    static class PatternChannel implements ReadableByteChannel {
+        
+        private long remaining;
+        private boolean open = true;
+        private final CountDownLatch closed;
+        
+        PatternChannel(long size) {
+            this(size, null);
+        }
+        
+        PatternChannel(long size, CountDownLatch closed) {
+            this.remaining = size;
+            this.closed = closed;
+        }
+        
+        @Override
+        public int read(ByteBuffer dst) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = (int) Math.min(dst.remaining(), remaining);
+            for (int i = 0; i < count; i++) {
+                dst.put((byte) (remaining-- % 251));
+            }
+            return count;
+        }
+        
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+        
+        @Override
+        public void close() {
+            open = false;
+            if (closed != null) {
+                closed.countDown();
+            }
+        }
+    }
+}
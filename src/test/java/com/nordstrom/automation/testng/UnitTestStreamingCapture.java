@@ -0,0 +1,9 @@
+package com.nordstrom.automation.testng;
+
+public class UnitTestStreamingCapture extends ArtifactCollector<UnitTestStreamingArtifact> {
+    
+    public UnitTestStreamingCapture() {
+        super(new UnitTestStreamingArtifact());
+    }
+    
+}
@@ -0,0 +1,19 @@
+package com.nordstrom.automation.testng;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+class UnmatchedAfterMethodClass {
+    
+    @Test(groups = "matched")
+    public void testMethod() {
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void matchedAfter() {
+    }
+    
+    @AfterMethod(alwaysRun = true, onlyForGroups = "unmatched")
+    public void unmatchedAfter() {
+    }
+}
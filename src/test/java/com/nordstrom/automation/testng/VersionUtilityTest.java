@@ -17,6 +17,7 @@ public class VersionUtilityTest {
     @BeforeClass
     public void beforeClass() {
         System.setProperty(TestNGSettings.MAX_RETRY.key(), "1");
+        TestNGConfig.refreshSnapshot();
     }
     
     @Test
@@ -73,6 +74,7 @@ public class VersionUtilityTest {
     @AfterClass
     public void afterClass() {
         System.clearProperty(TestNGSettings.MAX_RETRY.key());
+        TestNGConfig.refreshSnapshot();
     }
     
 }